@@ -1,5 +1,7 @@
 package pt.up.hs.linguini;
 
+import pt.up.hs.linguini.analysis.cooccurrence.AssociationMeasure;
+import pt.up.hs.linguini.caching.EvictionPolicy;
 import pt.up.hs.linguini.exceptions.ConfigException;
 
 import java.io.IOException;
@@ -26,6 +28,17 @@ public class Config {
     private static final String GRAMMATICAL_CONVERSIONS_PROP = "grammaticalConversions";
     private static final String FUNCTIONAL_WORD_TAGS_PROP = "functionalWordTags";
     private static final String CONTENT_WORD_TAGS_PROP = "contentWordTags";
+    private static final String LEMMA_CACHE_SIZE_PROP = "lemmaCacheSize";
+    private static final String LEMMA_CACHE_TIME_TO_LIVE_PROP = "lemmaCacheTimeToLive";
+    private static final String LEMMA_CACHE_EVICTION_POLICY_PROP = "lemmaCacheEvictionPolicy";
+    private static final String LEMMA_CACHE_SNAPSHOT_PROP = "lemmaCacheSnapshot";
+    private static final String CO_OCCURRENCE_MEASURE_PROP = "coOccurrenceMeasure";
+    private static final String CO_OCCURRENCE_TOP_K_PROP = "coOccurrenceTopK";
+    private static final String CO_OCCURRENCE_TOP_K_PER_WORD_PROP = "coOccurrenceTopKPerWord";
+
+    private static final int DEFAULT_LEMMA_CACHE_SIZE = 50000;
+    private static final long DEFAULT_LEMMA_CACHE_TIME_TO_LIVE = 86400;
+    private static final int DEFAULT_CO_OCCURRENCE_TOP_K = 100;
 
     private static final Map<Locale, Config> configs = new HashMap<>();
 
@@ -43,6 +56,12 @@ public static Config getInstance() throws ConfigException {
     }
 
     public static Config getInstance(Locale locale) throws ConfigException {
+        synchronized (configs) {
+            return loadInstance(locale);
+        }
+    }
+
+    private static Config loadInstance(Locale locale) throws ConfigException {
         if (!configs.containsKey(locale)) {
             Properties properties = new Properties();
             String path = String.format(FILE_PATH_FORMAT, locale.toString());
@@ -116,6 +135,62 @@ public Map<String, String> getGrammaticalConversions() {
         return grammaticalConversions;
     }
 
+    public int getLemmaCacheSize() {
+        String value = get(LEMMA_CACHE_SIZE_PROP);
+        if (value == null) {
+            return DEFAULT_LEMMA_CACHE_SIZE;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    public long getLemmaCacheTimeToLive() {
+        String value = get(LEMMA_CACHE_TIME_TO_LIVE_PROP);
+        if (value == null) {
+            return DEFAULT_LEMMA_CACHE_TIME_TO_LIVE;
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    public EvictionPolicy getLemmaCacheEvictionPolicy() {
+        String value = get(LEMMA_CACHE_EVICTION_POLICY_PROP);
+        if (value == null) {
+            return EvictionPolicy.LRU;
+        }
+        return EvictionPolicy.valueOf(value.trim().toUpperCase());
+    }
+
+    public String getLemmaCacheSnapshot() {
+        return get(LEMMA_CACHE_SNAPSHOT_PROP);
+    }
+
+    /**
+     * Get the measure used to rank co-occurrences, if only the top K are to
+     * be kept.
+     *
+     * @return {@link AssociationMeasure} measure used to rank co-occurrences
+     *      (or {@code null} to keep every co-occurrence above the threshold)
+     */
+    public AssociationMeasure getCoOccurrenceMeasure() {
+        String value = get(CO_OCCURRENCE_MEASURE_PROP);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return AssociationMeasure.valueOf(value.trim().toUpperCase());
+    }
+
+    public int getCoOccurrenceTopK() {
+        String value = get(CO_OCCURRENCE_TOP_K_PROP);
+        if (value == null) {
+            return DEFAULT_CO_OCCURRENCE_TOP_K;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    public boolean isCoOccurrenceTopKPerWord() {
+        String value = get(CO_OCCURRENCE_TOP_K_PER_WORD_PROP);
+        return value != null && Boolean.parseBoolean(value.trim());
+    }
+
     public String get(String key) {
         return properties.getProperty(key);
     }
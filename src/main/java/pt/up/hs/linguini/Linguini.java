@@ -1,20 +1,19 @@
 package pt.up.hs.linguini;
 
+import pt.up.hs.linguini.analysis.cooccurrence.AssociationMeasure;
 import pt.up.hs.linguini.analysis.cooccurrence.CoOccurrence;
 import pt.up.hs.linguini.analysis.cooccurrence.CoOccurrenceAnalysis;
+import pt.up.hs.linguini.analysis.cooccurrence.SentenceCooccurrenceAnalysis;
 import pt.up.hs.linguini.analysis.emotional.EmotaixAnalysis;
-import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
 import pt.up.hs.linguini.analysis.ideadensity.IdeaDensityAnalysis;
 import pt.up.hs.linguini.analysis.ideadensity.Proposition;
-import pt.up.hs.linguini.analysis.lexicaldiversity.BaseTtrAnalysis;
-import pt.up.hs.linguini.analysis.lexicaldiversity.HddAnalysis;
-import pt.up.hs.linguini.analysis.lexicaldiversity.MtldAnalysis;
-import pt.up.hs.linguini.analysis.lexicaldiversity.VocdAnalysis;
+import pt.up.hs.linguini.analysis.lexicaldiversity.LexicalDiversityEngine;
 import pt.up.hs.linguini.analysis.summary.ContentWordAnalysis;
 import pt.up.hs.linguini.analysis.summary.FunctionalWordAnalysis;
 import pt.up.hs.linguini.analysis.summary.TagGroupingAnalysis;
 import pt.up.hs.linguini.analysis.summary.WordFrequencyAnalysis;
 import pt.up.hs.linguini.dictionaries.exceptions.DictionaryException;
+import pt.up.hs.linguini.emotaix.Emotaix;
 import pt.up.hs.linguini.exceptions.LinguiniException;
 import pt.up.hs.linguini.filtering.PunctuationTokenFilter;
 import pt.up.hs.linguini.filtering.StopTokenFilter;
@@ -22,43 +21,153 @@
 import pt.up.hs.linguini.lemmatization.Lemmatizer;
 import pt.up.hs.linguini.models.AnnotatedToken;
 import pt.up.hs.linguini.models.Emotion;
+import pt.up.hs.linguini.models.LexicalDiversity;
 import pt.up.hs.linguini.models.LinguisticsReport;
 import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.models.WarmUpReport;
 import pt.up.hs.linguini.nndep.NNDepParser;
+import pt.up.hs.linguini.pipeline.AsyncStep;
 import pt.up.hs.linguini.pipeline.BatchStep;
+import pt.up.hs.linguini.pipeline.ParallelBatchStep;
+import pt.up.hs.linguini.pipeline.Step;
 import pt.up.hs.linguini.pos.PoSTagger;
+import pt.up.hs.linguini.resources.ModelRegistry;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
 import pt.up.hs.linguini.tokenization.TokenizedSentenceSplitter;
 import pt.up.hs.linguini.tokenization.Tokenizer;
 import pt.up.hs.linguini.transformation.LowercaseTokenTransformer;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-
+import java.util.stream.Stream;
+
+/**
+ * Entry point of the library. An instance loads every component required by
+ * the analysis (tokenizer, PoS tagger, lemmatizer, dependency parser, ...)
+ * once, on construction, and reuses them across calls to
+ * {@link #analyze(String)}. Instances are safe to share between threads.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
 public class Linguini {
 
     private static final Logger LOG = Logger.getLogger(Linguini.class.getCanonicalName());
 
+    private static final int DEFAULT_IN_FLIGHT_PER_THREAD = 2;
+
+    private static final String SAMPLE_FILE_PATH_FORMAT = "/%s/samples/sample.txt";
+    private static final int DEFAULT_WARM_UP_ITERATIONS = 10;
+
     private final Locale locale;
 
     private final Integer coOccurrenceWindowSize;
     private final Double coOccurrenceThreshold;
-
-    public Linguini() {
+    private final AssociationMeasure coOccurrenceMeasure;
+    private final int coOccurrenceTopK;
+    private final boolean coOccurrenceTopKPerWord;
+
+    // components loaded once and shared by every analysis
+    private final Step<String, List<Token>> tokenizer;
+    private final PoSTagger posTagger;
+    private final Lemmatizer lemmatizer;
+    private final StopTokenFilter<AnnotatedToken<String>> stopTokenFilter;
+    private final ContentWordAnalysis contentWordAnalysis;
+    private final FunctionalWordAnalysis functionalWordAnalysis;
+    private final EmotaixAnalysis emotaixAnalysis;
+    private final LexicalDiversityEngine<AnnotatedToken<String>> lexicalDiversityEngine;
+    private final NNDepParser depParser;
+    private final ParallelBatchStep<List<AnnotatedToken<String>>, List<Proposition>> ideaDensityStep;
+    private final Map<String, String> grammaticalConversions;
+
+    public Linguini() throws LinguiniException {
         this(Locale.getDefault());
     }
 
-    public Linguini(Locale locale) {
+    public Linguini(Locale locale) throws LinguiniException {
         this(locale, null, null);
     }
 
-    public Linguini(Locale locale, Integer coOccurrenceWindowSize, Double coOccurrenceThreshold) {
+    public Linguini(Locale locale, Integer coOccurrenceWindowSize, Double coOccurrenceThreshold)
+            throws LinguiniException {
+        this(locale, coOccurrenceWindowSize, coOccurrenceThreshold, null, null, null);
+    }
+
+    /**
+     * Create an instance that keeps only the top K co-occurrences of each
+     * text, ranked by an association measure. Options left {@code null}
+     * are read from the configuration of the locale (see
+     * {@link Config#getCoOccurrenceMeasure()}), and without a measure every
+     * co-occurrence above the threshold is kept.
+     *
+     * @param locale                  {@link Locale} locale of the texts
+     * @param coOccurrenceWindowSize  {@link Integer} size of the
+     *                                co-occurrence window
+     * @param coOccurrenceThreshold   {@link Double} minimum value of a
+     *                                co-occurrence
+     * @param coOccurrenceMeasure     {@link AssociationMeasure} measure used
+     *                                to rank co-occurrences
+     * @param coOccurrenceTopK        {@link Integer} number of co-occurrences
+     *                                to keep
+     * @param coOccurrenceTopKPerWord {@link Boolean} keep the top K of each
+     *                                word, instead of the top K overall?
+     * @throws LinguiniException if some component cannot be loaded
+     */
+    public Linguini(Locale locale, Integer coOccurrenceWindowSize, Double coOccurrenceThreshold,
+                    AssociationMeasure coOccurrenceMeasure, Integer coOccurrenceTopK,
+                    Boolean coOccurrenceTopKPerWord)
+            throws LinguiniException {
+        Config config = Config.getInstance(locale);
+
         this.locale = locale;
         this.coOccurrenceWindowSize = coOccurrenceWindowSize;
         this.coOccurrenceThreshold = coOccurrenceThreshold;
+        this.coOccurrenceMeasure = coOccurrenceMeasure != null
+                ? coOccurrenceMeasure : config.getCoOccurrenceMeasure();
+        this.coOccurrenceTopK = coOccurrenceTopK != null
+                ? coOccurrenceTopK : config.getCoOccurrenceTopK();
+        this.coOccurrenceTopKPerWord = coOccurrenceTopKPerWord != null
+                ? coOccurrenceTopKPerWord : config.isCoOccurrenceTopKPerWord();
+
+        this.tokenizer = new Tokenizer(locale, true)
+                .pipe(new WhitespaceTokenFilter<>());
+        this.posTagger = new PoSTagger(locale);
+        this.lemmatizer = new Lemmatizer(locale);
+        this.stopTokenFilter = new StopTokenFilter<>(locale);
+        this.contentWordAnalysis = new ContentWordAnalysis(locale);
+        this.functionalWordAnalysis = new FunctionalWordAnalysis(locale);
+        this.emotaixAnalysis = new EmotaixAnalysis(locale);
+        this.lexicalDiversityEngine = new LexicalDiversityEngine<>();
+        this.depParser = NNDepParser.getInstance(locale);
+        // the idea density engine keeps per-sentence state, so each
+        // concurrent sentence needs its own instance
+        this.ideaDensityStep = new ParallelBatchStep<>(
+                () -> depParser.pipe(new IdeaDensityAnalysis(locale)));
+        this.grammaticalConversions = Collections.unmodifiableMap(
+                config.getGrammaticalConversions());
     }
 
     public LinguisticsReport analyze(String text) throws LinguiniException {
@@ -66,17 +175,15 @@ public LinguisticsReport analyze(String text) throws LinguiniException {
         LinguisticsReport report = new LinguisticsReport();
 
         // 1. tokenize text
-        List<Token> tokens = new Tokenizer(locale, true)
-                // 2. remove whitespaces
-                .pipe(new WhitespaceTokenFilter<>())
-                .execute(text);
+        // 2. remove whitespaces
+        List<Token> tokens = tokenizer.execute(text);
 
         // 3. sentence splitting
         List<List<Token>> sentences = new TokenizedSentenceSplitter<Token>()
                 .execute(tokens);
 
         // 3. PoS Tagging
-        List<List<AnnotatedToken<String>>> posTaggedSentenceTokens = new BatchStep<>(new PoSTagger(locale))
+        List<List<AnnotatedToken<String>>> posTaggedSentenceTokens = new BatchStep<>(posTagger)
                 .execute(sentences);
 
         List<AnnotatedToken<String>> posTaggedTokens = posTaggedSentenceTokens.stream()
@@ -85,7 +192,7 @@ public LinguisticsReport analyze(String text) throws LinguiniException {
 
         // 5. lemmatize
         List<List<AnnotatedToken<String>>> lemmatizedSentences =
-                new BatchStep<>(new BatchStep<>(new Lemmatizer(locale)))
+                new BatchStep<>(new BatchStep<>(lemmatizer))
                         .execute(posTaggedSentenceTokens);
 
         // 6. drop punctuation
@@ -100,7 +207,7 @@ public LinguisticsReport analyze(String text) throws LinguiniException {
 
         // 8. drop stop words
         List<List<AnnotatedToken<String>>> cleanedAnnotatedTokenSentences =
-                new BatchStep<>(new StopTokenFilter<AnnotatedToken<String>>(locale))
+                new BatchStep<>(stopTokenFilter)
                         .execute(lemmatizedSentencesLowercaseNoPunctuation);
 
         // 9. cleaned up text tokens
@@ -116,21 +223,235 @@ public LinguisticsReport analyze(String text) throws LinguiniException {
                 lemmatizedSentencesLowercaseNoPunctuation
         );
 
+        // 11-14. analyses below only read the token lists built above, so they run
+        // concurrently
+        Executor executor = ForkJoinPool.commonPool();
+
         // 11. analyze lexical diversity
-        analyzeLexicalDiversity(report, cleanedAnnotatedTokenText);
+        CompletableFuture<Void> lexicalDiversity = Step.<List<AnnotatedToken<String>>, Void>of(ts -> {
+            analyzeLexicalDiversity(report, ts);
+            return null;
+        }).async(executor).execute(cleanedAnnotatedTokenText);
 
         // 12. analyze co-occurrences
-        analyzeCoOccurrences(report, cleanedAnnotatedTokenSentences);
+        CompletableFuture<Void> coOccurrences = Step.<List<List<AnnotatedToken<String>>>, Void>of(ss -> {
+            analyzeCoOccurrences(report, ss);
+            return null;
+        }).async(executor).execute(cleanedAnnotatedTokenSentences);
 
         // 13. analyze emotions
-        analyzeEmotions(report, cleanedAnnotatedTokenText);
+        CompletableFuture<Void> emotions = Step.<List<AnnotatedToken<String>>, Void>of(ts -> {
+            analyzeEmotions(report, ts);
+            return null;
+        }).async(executor).execute(cleanedAnnotatedTokenText);
 
         // 14. analyze idea density
-        analyzeIdeaDensity(report, lemmatizedSentences);
+        CompletableFuture<Void> ideaDensity = Step.<List<List<AnnotatedToken<String>>>, Void>of(ss -> {
+            analyzeIdeaDensity(report, ss);
+            return null;
+        }).async(executor).execute(lemmatizedSentences);
+
+        AsyncStep.await(CompletableFuture.allOf(
+                lexicalDiversity, coOccurrences, emotions, ideaDensity));
 
         return report;
     }
 
+    /**
+     * Warm up the library for a locale, so that the first analysis does not
+     * pay for loading resources and running cold code.
+     *
+     * @param locale {@link Locale} locale to warm up.
+     * @return {@link WarmUpReport} time taken by each part of the warm-up.
+     * @throws LinguiniException if any resource fails to load.
+     * @see #warmUp(Locale, int)
+     */
+    public static WarmUpReport warmUp(Locale locale) throws LinguiniException {
+        return warmUp(locale, DEFAULT_WARM_UP_ITERATIONS);
+    }
+
+    /**
+     * Warm up the library for a locale. Every resource of the locale
+     * (configuration, replacements, dictionaries, stopwords, emotions and
+     * statistical models) is loaded in parallel into the process-wide
+     * caches. Then, the built-in sample text of the locale is analyzed
+     * {@code iterations} times to get the hot paths JIT-compiled.
+     *
+     * @param locale     {@link Locale} locale to warm up.
+     * @param iterations {@code int} number of times to analyze the sample.
+     * @return {@link WarmUpReport} time taken by each part of the warm-up.
+     * @throws LinguiniException if any resource fails to load.
+     */
+    public static WarmUpReport warmUp(Locale locale, int iterations) throws LinguiniException {
+
+        long start = System.nanoTime();
+
+        Map<String, Callable<?>> loaders = new LinkedHashMap<>();
+        loaders.put("config", () -> Config.getInstance(locale));
+        loaders.put("tokenizer", () -> new Tokenizer(locale, true));
+        loaders.put("lemmatizer", () -> new Lemmatizer(locale));
+        loaders.put("stopwords", () -> new StopTokenFilter<>(locale));
+        loaders.put("emotaix", () -> new Emotaix(locale));
+        loaders.put("tagger", () -> ModelRegistry.getTagger(locale));
+        loaders.put("dependency parser", () -> ModelRegistry.getDependencyParser(locale));
+
+        Map<String, Future<Long>> loadTimes = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(loaders.size());
+        try {
+            for (Map.Entry<String, Callable<?>> loader : loaders.entrySet()) {
+                loadTimes.put(loader.getKey(), executor.submit(() -> {
+                    long loadStart = System.nanoTime();
+                    loader.getValue().call();
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart);
+                }));
+            }
+
+            WarmUpReport report = new WarmUpReport();
+            for (Map.Entry<String, Future<Long>> loadTime : loadTimes.entrySet()) {
+                report.getResourceLoadTimes().put(loadTime.getKey(), loadTime.getValue().get());
+            }
+
+            // run the sample through the full pipeline
+            String sample = null;
+            try {
+                sample = ResourceLoader.readText(String.format(SAMPLE_FILE_PATH_FORMAT, locale));
+            } catch (ResourceLoadingException e) {
+                LOG.warning("No sample text to warm up " + locale + ".");
+            }
+            if (sample != null) {
+                Linguini linguini = new Linguini(locale);
+                long analysisStart = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    linguini.analyze(sample);
+                }
+                report.setSampleAnalysisTime(
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - analysisStart));
+                report.setSampleAnalysisIterations(iterations);
+            }
+
+            report.setTotalTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            return report;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LinguiniException) {
+                throw (LinguiniException) e.getCause();
+            }
+            throw new LinguiniException("Could not warm up " + locale + ".", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LinguiniException("Warm up interrupted.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyze a corpus of texts, spreading them over as many threads as
+     * available processors.
+     *
+     * @param texts {@link Stream} texts to analyze.
+     * @return {@link List} reports in the same order as the texts.
+     * @throws LinguiniException if the analysis of any text fails.
+     */
+    public List<LinguisticsReport> analyzeAll(Stream<String> texts) throws LinguiniException {
+        List<LinguisticsReport> reports = new ArrayList<>();
+        analyzeAll(texts, (index, report) -> {
+            while (reports.size() <= index) {
+                reports.add(null);
+            }
+            reports.set(index, report);
+        });
+        return reports;
+    }
+
+    /**
+     * Analyze a corpus of texts, spreading them over as many threads as
+     * available processors. Reports are handed to the consumer, on the
+     * calling thread, as soon as each analysis completes.
+     *
+     * @param texts    {@link Stream} texts to analyze.
+     * @param consumer {@link BiConsumer} receives the index of the text in
+     *                 the stream and its report.
+     * @throws LinguiniException if the analysis of any text fails.
+     */
+    public void analyzeAll(
+            Stream<String> texts,
+            BiConsumer<Integer, LinguisticsReport> consumer
+    ) throws LinguiniException {
+        int nrOfThreads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(nrOfThreads);
+        try {
+            analyzeAll(texts, executor, nrOfThreads * DEFAULT_IN_FLIGHT_PER_THREAD, consumer);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyze a corpus of texts on the given executor. At most
+     * {@code maxInFlight} texts are read from the stream and kept in memory
+     * at any time. Reports are handed to the consumer, on the calling thread,
+     * as soon as each analysis completes (i.e., not necessarily in the order
+     * of the stream).
+     *
+     * @param texts       {@link Stream} texts to analyze.
+     * @param executor    {@link ExecutorService} executor running the
+     *                    analyses. It is not shut down by this method.
+     * @param maxInFlight {@code int} maximum number of texts being analyzed
+     *                    at the same time.
+     * @param consumer    {@link BiConsumer} receives the index of the text in
+     *                    the stream and its report.
+     * @throws LinguiniException if the analysis of any text fails.
+     */
+    public void analyzeAll(
+            Stream<String> texts,
+            ExecutorService executor,
+            int maxInFlight,
+            BiConsumer<Integer, LinguisticsReport> consumer
+    ) throws LinguiniException {
+
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one text must be allowed in flight.");
+        }
+
+        CompletionService<Map.Entry<Integer, LinguisticsReport>> completionService =
+                new ExecutorCompletionService<>(executor);
+        Set<Future<Map.Entry<Integer, LinguisticsReport>>> pending = new HashSet<>();
+
+        Iterator<String> iterator = texts.iterator();
+        int submitted = 0;
+        try {
+            while (iterator.hasNext() || !pending.isEmpty()) {
+
+                // keep the window of texts in flight full
+                while (iterator.hasNext() && pending.size() < maxInFlight) {
+                    final int index = submitted++;
+                    final String text = iterator.next();
+                    pending.add(completionService.submit(() ->
+                            new AbstractMap.SimpleImmutableEntry<>(index, analyze(text))));
+                }
+
+                Future<Map.Entry<Integer, LinguisticsReport>> done = completionService.take();
+                pending.remove(done);
+
+                Map.Entry<Integer, LinguisticsReport> result = done.get();
+                consumer.accept(result.getKey(), result.getValue());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LinguiniException) {
+                throw (LinguiniException) e.getCause();
+            }
+            throw new LinguiniException("Could not analyze corpus.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LinguiniException("Corpus analysis interrupted.", e);
+        } finally {
+            for (Future<Map.Entry<Integer, LinguisticsReport>> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
     private void analyzeComposition(
             LinguisticsReport report,
             String text,
@@ -145,9 +466,9 @@ private void analyzeComposition(
         List<AnnotatedToken<String>> nonLemmatizedWords = new PunctuationTokenFilter<AnnotatedToken<String>>()
                 .pipe(new BatchStep<>(new LowercaseTokenTransformer<>()))
                 .execute(posTaggedTokens);
-        List<AnnotatedToken<String>> nonLemmatizedContentWords = new ContentWordAnalysis(locale)
+        List<AnnotatedToken<String>> nonLemmatizedContentWords = contentWordAnalysis
                 .execute(nonLemmatizedWords);
-        List<AnnotatedToken<String>> nonLemmatizedFunctionalWords = new FunctionalWordAnalysis(locale)
+        List<AnnotatedToken<String>> nonLemmatizedFunctionalWords = functionalWordAnalysis
                 .execute(nonLemmatizedWords);
 
         // structure
@@ -192,9 +513,6 @@ private void analyzeComposition(
         report.setLexicalDensity((double) nonLemmatizedContentWords.size() / nonLemmatizedWords.size());
 
         // grammatical class
-        Map<String, String> grammaticalConversions = Config.getInstance(locale)
-                .getGrammaticalConversions();
-
         report.setMorphologicalAnnotations(lemmatizedText.parallelStream()
                 .map(annotToken -> {
                     String grammarClass = grammaticalConversions.get(annotToken.getInfo());
@@ -234,7 +552,18 @@ private void analyzeCoOccurrences(
     ) throws LinguiniException {
 
         CoOccurrenceAnalysis<AnnotatedToken<String>> coOccurrenceAnalysis;
-        if (coOccurrenceThreshold != null) {
+        if (coOccurrenceMeasure != null) {
+            coOccurrenceAnalysis = new CoOccurrenceAnalysis<>(
+                    coOccurrenceThreshold != null
+                            ? coOccurrenceThreshold
+                            : CoOccurrenceAnalysis.DEFAULT_COOCCURRENCE_THRESHOLD,
+                    coOccurrenceWindowSize != null
+                            ? coOccurrenceWindowSize
+                            : SentenceCooccurrenceAnalysis.DEFAULT_WINDOW_SIZE,
+                    coOccurrenceMeasure,
+                    coOccurrenceTopK,
+                    coOccurrenceTopKPerWord);
+        } else if (coOccurrenceThreshold != null) {
             if (coOccurrenceWindowSize != null) {
                 coOccurrenceAnalysis = new CoOccurrenceAnalysis<>(
                         coOccurrenceThreshold, coOccurrenceWindowSize);
@@ -256,26 +585,25 @@ private void analyzeLexicalDiversity(
             List<AnnotatedToken<String>> cleanedAndAnnotatedTokens
     ) {
 
-        report.setBaseTTR(new BaseTtrAnalysis<AnnotatedToken<String>>()
-                .execute(cleanedAndAnnotatedTokens));
-        try {
-            report.setMtld(new MtldAnalysis<AnnotatedToken<String>>()
-                    .execute(cleanedAndAnnotatedTokens));
-        } catch (AnalysisException ae) {
+        LexicalDiversity lexicalDiversity = lexicalDiversityEngine
+                .execute(cleanedAndAnnotatedTokens);
+
+        report.setBaseTTR(lexicalDiversity.getBaseTtr());
+        if (lexicalDiversity.getMtld() != null) {
+            report.setMtld(lexicalDiversity.getMtld());
+        } else {
             LOG.severe("Cannot calculate MTL-D in texts with less than 50 words.");
         }
 
-        try {
-            report.setHdd(new HddAnalysis<AnnotatedToken<String>>()
-                    .execute(cleanedAndAnnotatedTokens));
-        } catch (AnalysisException ae) {
+        if (lexicalDiversity.getHdd() != null) {
+            report.setHdd(lexicalDiversity.getHdd());
+        } else {
             LOG.severe("Cannot calculate HD-D in texts with less than 50 words.");
         }
 
-        try {
-            report.setVocd(new VocdAnalysis<AnnotatedToken<String>>()
-                .execute(cleanedAndAnnotatedTokens));
-        } catch (AnalysisException ae) {
+        if (lexicalDiversity.getVocd() != null) {
+            report.setVocd(lexicalDiversity.getVocd());
+        } else {
             LOG.severe("Cannot calculate voc-D in texts with less than 50 words.");
         }
     }
@@ -286,7 +614,7 @@ private void analyzeEmotions(
     ) throws LinguiniException {
 
         try {
-            List<AnnotatedToken<Emotion>> emotionalAnnotations = new EmotaixAnalysis(locale)
+            List<AnnotatedToken<Emotion>> emotionalAnnotations = emotaixAnalysis
                     .execute(
                         cleanedAndAnnotatedTokens.parallelStream()
                                 .map(AnnotatedToken::getToken)
@@ -311,10 +639,8 @@ private void analyzeIdeaDensity(
             throw new LinguiniException("No words in text.");
         }
 
-        List<List<Proposition>> sentencePropositions =
-                new BatchStep<>(NNDepParser.getInstance(locale))
-                        .pipe(new BatchStep<>(new IdeaDensityAnalysis(locale)))
-                        .execute(lemmatizedSentences);
+        List<List<Proposition>> sentencePropositions = ideaDensityStep
+                .execute(lemmatizedSentences);
 
         int propositionCount = sentencePropositions.parallelStream()
                 .mapToInt(List::size)
@@ -0,0 +1,18 @@
+package pt.up.hs.linguini.analysis.cooccurrence;
+
+/**
+ * Measures of association between two co-occurring words, computed from the
+ * co-occurrence value of the pair and the marginal values of each word.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public enum AssociationMeasure {
+    /** Co-occurrence value of the pair, as is. */
+    FREQUENCY,
+    /** Pointwise mutual information, in bits. */
+    PMI,
+    /** Dunning's log-likelihood ratio (G²). */
+    LOG_LIKELIHOOD,
+    /** Dice coefficient. */
+    DICE
+}
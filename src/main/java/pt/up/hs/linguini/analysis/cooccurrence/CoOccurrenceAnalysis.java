@@ -3,65 +3,177 @@
 import pt.up.hs.linguini.exceptions.LinguiniException;
 import pt.up.hs.linguini.models.HasWord;
 import pt.up.hs.linguini.pipeline.Step;
-import pt.up.hs.linguini.utils.UnorderedPair;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Analysis to find word co-occurrences' value.
  *
+ * Sentences are split among the workers of a {@link ForkJoinPool}, each of
+ * which fills a local {@link CoOccurrenceMatrix}. Partial matrices are merged
+ * as the tasks join.
+ *
+ * By default, every pair with value not below the threshold is returned.
+ * With an {@link AssociationMeasure}, pairs above the threshold are scored
+ * and only the top K (overall or per word) are kept, so the result is
+ * bounded however long the text is.
+ *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class CoOccurrenceAnalysis<T extends HasWord>
         implements Step<List<List<T>>, List<CoOccurrence>> {
-    private static final double DEFAULT_COOCCURRENCE_THRESHOLD = 1.5;
+    public static final double DEFAULT_COOCCURRENCE_THRESHOLD = 1.5;
+    private static final int SENTENCES_PER_TASK = 64;
 
     private final double threshold;
 
     private final SentenceCooccurrenceAnalysis<T> step;
 
+    private final ForkJoinPool pool;
+
+    private final AssociationMeasure measure;
+    private final int topK;
+    private final boolean topKPerWord;
+
     public CoOccurrenceAnalysis() {
         this(DEFAULT_COOCCURRENCE_THRESHOLD);
     }
 
     public CoOccurrenceAnalysis(double threshold) {
-        this.threshold = threshold;
-        this.step = new SentenceCooccurrenceAnalysis<>();
+        this(threshold, new SentenceCooccurrenceAnalysis<>(),
+                ForkJoinPool.commonPool(), null, 0, false);
     }
 
     public CoOccurrenceAnalysis(double threshold, int windowSize) {
+        this(threshold, new SentenceCooccurrenceAnalysis<>(windowSize),
+                ForkJoinPool.commonPool(), null, 0, false);
+    }
+
+    public CoOccurrenceAnalysis(double threshold, int windowSize, ForkJoinPool pool) {
+        this(threshold, new SentenceCooccurrenceAnalysis<>(windowSize),
+                pool, null, 0, false);
+    }
+
+    /**
+     * Create an analysis that keeps only the pairs with highest score.
+     *
+     * @param threshold   {@code double} minimum value of candidate pairs
+     * @param windowSize  {@code int} size of the co-occurrence window
+     * @param measure     {@link AssociationMeasure} score of a pair
+     * @param topK        {@code int} number of pairs to keep
+     * @param topKPerWord {@code boolean} keep the top K pairs of each word,
+     *                    instead of the top K overall
+     */
+    public CoOccurrenceAnalysis(
+            double threshold,
+            int windowSize,
+            AssociationMeasure measure,
+            int topK,
+            boolean topKPerWord
+    ) {
+        this(threshold, new SentenceCooccurrenceAnalysis<>(windowSize),
+                ForkJoinPool.commonPool(), measure, topK, topKPerWord);
+    }
+
+    private CoOccurrenceAnalysis(
+            double threshold,
+            SentenceCooccurrenceAnalysis<T> step,
+            ForkJoinPool pool,
+            AssociationMeasure measure,
+            int topK,
+            boolean topKPerWord
+    ) {
         this.threshold = threshold;
-        this.step = new SentenceCooccurrenceAnalysis<>(windowSize);
+        this.step = step;
+        this.pool = pool;
+        this.measure = measure;
+        this.topK = topK;
+        this.topKPerWord = topKPerWord;
     }
 
     @Override
     public List<CoOccurrence> execute(List<List<T>> sentences) throws LinguiniException {
+        return select(computeMatrix(sentences));
+    }
 
-        final Map<UnorderedPair<String>, Double> cooccurrenceValues = new HashMap<>();
+    /**
+     * Compute the co-occurrence matrix of the sentences of a text.
+     *
+     * @param sentences {@link List} sentences of the text
+     * @return {@link CoOccurrenceMatrix} co-occurrence matrix of the text
+     */
+    public CoOccurrenceMatrix computeMatrix(List<List<T>> sentences) {
+        return pool.invoke(new MatrixTask(sentences, 0, sentences.size()));
+    }
 
-        for (List<T> sentence: sentences) {
-            Map<UnorderedPair<String>, Double> values = step.execute(sentence);
-            for (Map.Entry<UnorderedPair<String>, Double> entry: values.entrySet()) {
-                double v = cooccurrenceValues
-                        .getOrDefault(entry.getKey(), 0.0);
-                cooccurrenceValues.put(entry.getKey(), v + entry.getValue());
-            }
+    /**
+     * Compute the co-occurrence matrix of a corpus, i.e., of the sentences
+     * of all its documents together.
+     *
+     * @param documents {@link List} sentences of each document
+     * @return {@link CoOccurrenceMatrix} co-occurrence matrix of the corpus
+     */
+    public CoOccurrenceMatrix computeCorpusMatrix(List<List<List<T>>> documents) {
+        List<List<T>> sentences = new ArrayList<>();
+        for (List<List<T>> document: documents) {
+            sentences.addAll(document);
         }
+        return computeMatrix(sentences);
+    }
 
-        Set<CoOccurrence> coocurrences = new HashSet<>();
-        for (Map.Entry<UnorderedPair<String>, Double> entry :
-                cooccurrenceValues.entrySet()) {
+    /**
+     * Compute the co-occurrences of a corpus with value not below the
+     * threshold.
+     *
+     * @param documents {@link List} sentences of each document
+     * @return {@link List} co-occurrences in the corpus
+     */
+    public List<CoOccurrence> executeCorpus(List<List<List<T>>> documents) {
+        return select(computeCorpusMatrix(documents));
+    }
 
-            if (entry.getValue() < threshold)
-                continue;
+    private List<CoOccurrence> select(CoOccurrenceMatrix matrix) {
+        if (measure == null) {
+            return matrix.toCoOccurrences(threshold);
+        }
+        return topKPerWord
+                ? matrix.topKPerWord(measure, threshold, topK)
+                : matrix.topK(measure, threshold, topK);
+    }
 
-            CoOccurrence c = new CoOccurrence(entry.getKey().getFirst(),
-                    entry.getKey().getSecond(),
-                    entry.getValue());
+    private class MatrixTask extends RecursiveTask<CoOccurrenceMatrix> {
+        private final List<List<T>> sentences;
+        private final int from;
+        private final int to;
 
-            coocurrences.add(c);
+        MatrixTask(List<List<T>> sentences, int from, int to) {
+            this.sentences = sentences;
+            this.from = from;
+            this.to = to;
         }
 
-        return new ArrayList<>(coocurrences);
+        @Override
+        protected CoOccurrenceMatrix compute() {
+            if (to - from <= SENTENCES_PER_TASK) {
+                CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+                for (int i = from; i < to; i++) {
+                    step.accumulate(sentences.get(i), matrix);
+                }
+                return matrix;
+            }
+            int middle = (from + to) >>> 1;
+            MatrixTask left = new MatrixTask(sentences, from, middle);
+            left.fork();
+            CoOccurrenceMatrix right =
+                    new MatrixTask(sentences, middle, to).compute();
+            CoOccurrenceMatrix leftMatrix = left.join();
+            // merge the smaller matrix into the larger one
+            return leftMatrix.size() >= right.size()
+                    ? leftMatrix.merge(right)
+                    : right.merge(leftMatrix);
+        }
     }
 }
@@ -0,0 +1,338 @@
+package pt.up.hs.linguini.analysis.cooccurrence;
+
+import pt.up.hs.linguini.utils.LongDoubleHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse symmetric matrix of word-word co-occurrence values. Words are
+ * interned to {@code int} ids and each unordered pair of ids is packed in a
+ * {@code long} key of a primitive map, so accumulating values allocates
+ * nothing per pair.
+ *
+ * Not thread-safe.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class CoOccurrenceMatrix {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+
+    private final LongDoubleHashMap values = new LongDoubleHashMap();
+
+    public CoOccurrenceMatrix() {
+    }
+
+    /**
+     * Get the id of a word, assigning a new one if it is not known yet.
+     *
+     * @param word {@link String} the word
+     * @return {@code int} id of the word
+     */
+    public int intern(String word) {
+        Integer id = ids.putIfAbsent(word, words.size());
+        if (id == null) {
+            words.add(word);
+            return words.size() - 1;
+        }
+        return id;
+    }
+
+    public String word(int id) {
+        return words.get(id);
+    }
+
+    public int wordCount() {
+        return words.size();
+    }
+
+    /**
+     * Add a value to the co-occurrence of two words.
+     *
+     * @param firstId  {@code int} id of a word
+     * @param secondId {@code int} id of the other word
+     * @param value    {@code double} value to add
+     */
+    public void add(int firstId, int secondId, double value) {
+        values.addTo(key(firstId, secondId), value);
+    }
+
+    /**
+     * Add all the values of another matrix to this one. The ids of the other
+     * matrix are translated to ids of this one.
+     *
+     * @param other {@link CoOccurrenceMatrix} matrix to add
+     * @return {@link CoOccurrenceMatrix} this matrix
+     */
+    public CoOccurrenceMatrix merge(CoOccurrenceMatrix other) {
+        int[] translation = new int[other.words.size()];
+        for (int i = 0; i < translation.length; i++) {
+            translation[i] = intern(other.words.get(i));
+        }
+        other.forEach((first, second, value) ->
+                add(translation[first], translation[second], value));
+        return this;
+    }
+
+    /**
+     * Get the co-occurrence value of two words.
+     *
+     * @param first  {@link String} a word
+     * @param second {@link String} the other word
+     * @return {@code double} co-occurrence value of the words
+     */
+    public double get(String first, String second) {
+        Integer firstId = ids.get(first);
+        Integer secondId = ids.get(second);
+        if (firstId == null || secondId == null) {
+            return 0.0;
+        }
+        return values.getOrDefault(key(firstId, secondId), 0.0);
+    }
+
+    /**
+     * Number of pairs of words that co-occur.
+     *
+     * @return {@code int} number of pairs of words that co-occur
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Get the co-occurrences with value not below a threshold.
+     *
+     * @param threshold {@code double} minimum value
+     * @return {@link List} co-occurrences with value not below the threshold
+     */
+    public List<CoOccurrence> toCoOccurrences(double threshold) {
+        List<CoOccurrence> coOccurrences = new ArrayList<>();
+        values.forEach((key, value) -> {
+            if (value < threshold)
+                return;
+            coOccurrences.add(new CoOccurrence(
+                    words.get((int) (key >>> 32)),
+                    words.get((int) key),
+                    value));
+        });
+        return coOccurrences;
+    }
+
+    /**
+     * Get the marginal value of each word, i.e., the sum of the values of
+     * the pairs it belongs to.
+     *
+     * @return {@code double[]} marginal value of each word id
+     */
+    public double[] marginals() {
+        double[] marginals = new double[words.size()];
+        forEach((first, second, value) -> {
+            marginals[first] += value;
+            if (first != second) {
+                marginals[second] += value;
+            }
+        });
+        return marginals;
+    }
+
+    /**
+     * Get the K pairs with highest association score among the pairs with
+     * value not below a threshold. The value of each co-occurrence returned
+     * is its score.
+     *
+     * @param measure   {@link AssociationMeasure} score of a pair
+     * @param threshold {@code double} minimum value of candidate pairs
+     * @param k         {@code int} maximum number of pairs
+     * @return {@link List} top K co-occurrences, by decreasing score
+     */
+    public List<CoOccurrence> topK(
+            AssociationMeasure measure, double threshold, int k) {
+        TopK top = new TopK(k);
+        score(measure, threshold, top::offer);
+        return top.toCoOccurrences();
+    }
+
+    /**
+     * Get the K pairs with highest association score of each word, among
+     * the pairs with value not below a threshold. A pair may be among the
+     * top K of both its words, but is returned only once. The value of each
+     * co-occurrence returned is its score.
+     *
+     * @param measure   {@link AssociationMeasure} score of a pair
+     * @param threshold {@code double} minimum value of candidate pairs
+     * @param k         {@code int} maximum number of pairs per word
+     * @return {@link List} top K co-occurrences of each word, by decreasing
+     * score
+     */
+    public List<CoOccurrence> topKPerWord(
+            AssociationMeasure measure, double threshold, int k) {
+        TopK[] tops = new TopK[words.size()];
+        score(measure, threshold, (first, second, score) -> {
+            offer(tops, first, first, second, score, k);
+            if (first != second) {
+                offer(tops, second, first, second, score, k);
+            }
+        });
+
+        TopK all = new TopK(Integer.MAX_VALUE);
+        LongDoubleHashMap selected = new LongDoubleHashMap();
+        for (TopK top: tops) {
+            if (top == null)
+                continue;
+            for (ScoredPair pair: top.heap) {
+                long key = key(pair.first, pair.second);
+                if (!selected.containsKey(key)) {
+                    selected.put(key, pair.score);
+                    all.offer(pair.first, pair.second, pair.score);
+                }
+            }
+        }
+        return all.toCoOccurrences();
+    }
+
+    private void offer(
+            TopK[] tops, int word, int first, int second, double score, int k) {
+        if (tops[word] == null) {
+            tops[word] = new TopK(k);
+        }
+        tops[word].offer(first, second, score);
+    }
+
+    private void score(
+            AssociationMeasure measure, double threshold, PairConsumer action) {
+        if (measure == AssociationMeasure.FREQUENCY) {
+            forEach((first, second, value) -> {
+                if (value >= threshold)
+                    action.accept(first, second, value);
+            });
+            return;
+        }
+        double[] marginals = marginals();
+        double n = total();
+        forEach((first, second, value) -> {
+            if (value >= threshold)
+                action.accept(first, second, score(
+                        measure, value, marginals[first], marginals[second], n));
+        });
+    }
+
+    private double total() {
+        double[] total = new double[1];
+        values.forEach((key, value) -> total[0] += value);
+        return total[0];
+    }
+
+    /*
+     * Scores come from the 2x2 contingency table of pair events: a pairs
+     * with both words, b with only the first, c with only the second, and d
+     * with neither.
+     */
+    private static double score(
+            AssociationMeasure measure, double a, double fx, double fy, double n) {
+        switch (measure) {
+            case PMI:
+                return Math.log(a * n / (fx * fy)) / Math.log(2);
+            case DICE:
+                return 2 * a / (fx + fy);
+            case LOG_LIKELIHOOD:
+                double b = Math.max(0.0, fx - a);
+                double c = Math.max(0.0, fy - a);
+                double d = Math.max(0.0, n - a - b - c);
+                return 2 * (logLikelihoodTerm(a, fx, fy, n) +
+                        logLikelihoodTerm(b, fx, n - fy, n) +
+                        logLikelihoodTerm(c, n - fx, fy, n) +
+                        logLikelihoodTerm(d, n - fx, n - fy, n));
+            default:
+                return a;
+        }
+    }
+
+    private static double logLikelihoodTerm(
+            double observed, double row, double column, double n) {
+        if (observed <= 0 || row <= 0 || column <= 0)
+            return 0.0;
+        return observed * Math.log(observed * n / (row * column));
+    }
+
+    /**
+     * Call an action for each pair of words that co-occur.
+     *
+     * @param action {@link PairConsumer} action to call
+     */
+    public void forEach(PairConsumer action) {
+        values.forEach((key, value) ->
+                action.accept((int) (key >>> 32), (int) key, value));
+    }
+
+    private static long key(int firstId, int secondId) {
+        return firstId <= secondId
+                ? ((long) firstId << 32) | secondId
+                : ((long) secondId << 32) | firstId;
+    }
+
+    /**
+     * Bounded min-heap of the pairs with highest score.
+     */
+    private class TopK {
+        private final int k;
+        private final PriorityQueue<ScoredPair> heap;
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(Math.min(k, 16) + 1);
+        }
+
+        void offer(int first, int second, double score) {
+            if (k <= 0)
+                return;
+            if (heap.size() < k) {
+                heap.add(new ScoredPair(first, second, score));
+            } else if (score > heap.peek().score) {
+                heap.poll();
+                heap.add(new ScoredPair(first, second, score));
+            }
+        }
+
+        List<CoOccurrence> toCoOccurrences() {
+            List<ScoredPair> pairs = new ArrayList<>(heap);
+            pairs.sort(Collections.reverseOrder());
+            List<CoOccurrence> coOccurrences = new ArrayList<>(pairs.size());
+            for (ScoredPair pair: pairs) {
+                coOccurrences.add(new CoOccurrence(
+                        words.get(pair.first), words.get(pair.second), pair.score));
+            }
+            return coOccurrences;
+        }
+    }
+
+    private static class ScoredPair implements Comparable<ScoredPair> {
+        private final int first;
+        private final int second;
+        private final double score;
+
+        ScoredPair(int first, int second, double score) {
+            this.first = first;
+            this.second = second;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredPair o) {
+            return Double.compare(score, o.score);
+        }
+    }
+
+    /**
+     * Action on a pair of words of the matrix.
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(int firstId, int secondId, double value);
+    }
+}
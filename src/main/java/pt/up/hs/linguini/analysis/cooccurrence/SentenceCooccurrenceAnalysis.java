@@ -15,7 +15,7 @@
  */
 public class SentenceCooccurrenceAnalysis<T extends HasWord>
         implements Step<List<T>, Map<UnorderedPair<String>, Double>> {
-    private static final int DEFAULT_WINDOW_SIZE = 5;
+    public static final int DEFAULT_WINDOW_SIZE = 5;
 
     private final int windowSize;
 
@@ -30,29 +30,39 @@ public SentenceCooccurrenceAnalysis(int windowSize) {
     @Override
     public Map<UnorderedPair<String>, Double> execute(List<T> tokens) {
 
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+        accumulate(tokens, matrix);
+
         Map<UnorderedPair<String>, Double> cooccurrenceValues = new HashMap<>();
+        matrix.forEach((first, second, value) -> cooccurrenceValues.put(
+                new UnorderedPair<>(matrix.word(first), matrix.word(second)),
+                value));
 
-        for (int center_i = 0; center_i < tokens.size(); center_i++) {
+        return cooccurrenceValues;
+    }
 
-            T center_id = tokens.get(center_i);
+    /**
+     * Add the co-occurrence values of a sentence to a matrix.
+     *
+     * @param tokens {@link List} tokens of the sentence
+     * @param matrix {@link CoOccurrenceMatrix} matrix to add values to
+     */
+    public void accumulate(List<T> tokens, CoOccurrenceMatrix matrix) {
+
+        int[] ids = new int[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = matrix.intern(tokens.get(i).word());
+        }
 
-            int start = Math.max(0, center_i - windowSize);
+        for (int center_i = 0; center_i < ids.length; center_i++) {
 
-            List<T> context_ids = tokens.subList(start, center_i);
-            int context_len = context_ids.size();
+            int start = Math.max(0, center_i - windowSize);
+            int context_len = center_i - start;
 
             for (int left_i = 0; left_i < context_len; left_i++) {
-
-                T left_id = context_ids.get(left_i);
-
-                UnorderedPair<String> pair1 = new UnorderedPair<>(
-                        left_id.word(), center_id.word());
-                double xij = cooccurrenceValues.getOrDefault(pair1, 0.0);
-                xij += 1.0 / (context_len - left_i);
-                cooccurrenceValues.put(pair1, xij);
+                matrix.add(ids[start + left_i], ids[center_i],
+                        1.0 / (context_len - left_i));
             }
         }
-
-        return cooccurrenceValues;
     }
 }
@@ -5,9 +5,7 @@
 import pt.up.hs.linguini.models.HasWord;
 import pt.up.hs.linguini.utils.MathUtils;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * HD-D is an idealized version of voc-D. For more information see McCarthy, P.M.
@@ -40,25 +38,37 @@ public Double execute(List<T> tokens) throws AnalysisException {
                     " words.");
         }
 
-        Map<String, Integer> typeCounts = new HashMap<>();
-        for (T token : tokens) {
-            if (typeCounts.containsKey(token.word())) {
-                typeCounts.put(token.word(), typeCounts.get(token.word()) + 1);
-            } else {
-                typeCounts.put(token.word(), 1);
-            }
-        }
+        // many types share the same frequency
+        int[] typesByFrequency = TokenTypes.typesByFrequency(
+                TokenTypes.of(tokens).frequencies());
+
+        return computeHdd(tokens.size(), typesByFrequency);
+    }
+
+    /**
+     * Compute HD-D from the number of types with each frequency. Each
+     * distinct frequency contributes once, weighted by its number of types.
+     *
+     * @param tokenCount       {@code int} number of tokens
+     * @param typesByFrequency {@code int[]} number of types that occur
+     *                         {@code i} times, at position {@code i}
+     * @return {@code double} value of HD-D
+     */
+    public double computeHdd(int tokenCount, int[] typesByFrequency) {
         double hdd = 0.0;
-        for (String word : typeCounts.keySet()) {
+        for (int frequency = 1; frequency < typesByFrequency.length; frequency++) {
+            if (typesByFrequency[frequency] == 0) {
+                continue;
+            }
             double contribution = MathUtils
                     .hypergeometric(
                             0,
                             sampleSize,
-                            tokens.size(),
-                            typeCounts.get(word)
+                            tokenCount,
+                            frequency
                     );
 
-            hdd += contribution;
+            hdd += typesByFrequency[frequency] * contribution;
         }
         return hdd;
     }
@@ -0,0 +1,199 @@
+package pt.up.hs.linguini.analysis.lexicaldiversity;
+
+import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
+import pt.up.hs.linguini.models.HasWord;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental TTR and MTLD of a stream of tokens (e.g., a text being
+ * written). Tokens are added one at a time or in chunks, and the current
+ * values can be read at any moment without processing the previous tokens
+ * again.
+ *
+ * The forward pass of MTLD is kept up to date as tokens arrive. The backward
+ * pass runs on demand over the last {@code reverseBufferSize} tokens, which
+ * are the only ones kept. While the text fits in that buffer, MTLD is the
+ * same as {@link MtldAnalysis}. In longer texts, the backward pass is
+ * measured in the most recent tokens only. Memory is proportional to the
+ * vocabulary plus the (bounded) buffer, not to the length of the text.
+ *
+ * Not thread-safe.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class LexicalDiversityAccumulator<T extends HasWord> {
+    private static final int MINIMUM_TOKENS = 50;
+    private static final double DEFAULT_MTLD_THRESHOLD = 0.72;
+    private static final int DEFAULT_REVERSE_BUFFER_SIZE = 10000;
+
+    private final double threshold;
+    private final int reverseBufferSize;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private int tokenCount = 0;
+
+    // forward pass (types of the current factor are stamped with its number)
+    private int[] forwardStamps = new int[64];
+    private int factorNumber = 1;
+    private int factorTypes = 0;
+    private int factorTokens = 0;
+    private double forwardFactors = 0.0;
+
+    // backward pass
+    private int[] reverseBuffer = new int[64];
+    private int[] backwardStamps = new int[64];
+    private int backwardFactorNumber = 0;
+    private double backwardMtld = Double.NaN;
+
+    public LexicalDiversityAccumulator() {
+        this(DEFAULT_MTLD_THRESHOLD, DEFAULT_REVERSE_BUFFER_SIZE);
+    }
+
+    public LexicalDiversityAccumulator(double threshold) {
+        this(threshold, DEFAULT_REVERSE_BUFFER_SIZE);
+    }
+
+    /**
+     * Create an accumulator.
+     *
+     * @param threshold         {@code double} TTR that ends a factor of MTLD
+     * @param reverseBufferSize {@code int} number of most recent tokens kept
+     *                          for the backward pass of MTLD
+     */
+    public LexicalDiversityAccumulator(double threshold, int reverseBufferSize) {
+        if (reverseBufferSize < MINIMUM_TOKENS) {
+            throw new IllegalArgumentException("Reverse buffer must hold at " +
+                    "least " + MINIMUM_TOKENS + " tokens.");
+        }
+        this.threshold = threshold;
+        this.reverseBufferSize = reverseBufferSize;
+    }
+
+    /**
+     * Add the next token of the text.
+     *
+     * @param token {@link HasWord} token to add
+     */
+    public void add(T token) {
+        Integer id = ids.putIfAbsent(token.word(), ids.size());
+        int type = id == null ? ids.size() - 1 : id;
+        if (type == forwardStamps.length) {
+            forwardStamps = Arrays.copyOf(forwardStamps, type * 2);
+            backwardStamps = Arrays.copyOf(backwardStamps, type * 2);
+        }
+
+        if (tokenCount < reverseBufferSize && tokenCount == reverseBuffer.length) {
+            reverseBuffer = Arrays.copyOf(reverseBuffer,
+                    Math.min(reverseBufferSize, tokenCount * 2));
+        }
+        reverseBuffer[tokenCount % reverseBufferSize] = type;
+        tokenCount++;
+        backwardMtld = Double.NaN;
+
+        if (forwardStamps[type] != factorNumber) {
+            forwardStamps[type] = factorNumber;
+            factorTypes++;
+        }
+        factorTokens++;
+        if ((double) factorTypes / factorTokens <= threshold) {
+            forwardFactors += 1;
+            factorNumber++;
+            factorTypes = 0;
+            factorTokens = 0;
+        }
+    }
+
+    /**
+     * Add the next tokens of the text.
+     *
+     * @param tokens {@link Iterable} tokens to add
+     */
+    public void addAll(Iterable<? extends T> tokens) {
+        for (T token : tokens) {
+            add(token);
+        }
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public int getTypeCount() {
+        return ids.size();
+    }
+
+    /**
+     * Get the TTR of the text so far.
+     *
+     * @return {@code double} TTR of the text so far
+     */
+    public double getTtr() {
+        return (double) ids.size() / tokenCount;
+    }
+
+    /**
+     * Get the MTLD of the text so far.
+     *
+     * @return {@code double} MTLD of the text so far
+     * @throws AnalysisException if the text has less than 50 tokens
+     */
+    public double getMtld() throws AnalysisException {
+
+        if (tokenCount < MINIMUM_TOKENS) {
+            throw new AnalysisException("Cannot calculate lexical" +
+                    " diversity in texts with less than " + MINIMUM_TOKENS +
+                    " words.");
+        }
+
+        double currentTtr = factorTokens == 0
+                ? 1.0
+                : (double) factorTypes / factorTokens;
+        double forwardMtld = mtld(tokenCount, forwardFactors, currentTtr);
+
+        if (Double.isNaN(backwardMtld)) {
+            backwardMtld = calculateBackwardMtld();
+        }
+
+        return (forwardMtld + backwardMtld) / 2;
+    }
+
+    private double calculateBackwardMtld() {
+        int length = Math.min(tokenCount, reverseBufferSize);
+        if (backwardFactorNumber < Integer.MIN_VALUE + length + 1) {
+            Arrays.fill(backwardStamps, 0);
+            backwardFactorNumber = 0;
+        }
+        backwardFactorNumber--;
+
+        double currentTtr = 1.0;
+        int types = 0;
+        int tokens = 0;
+        double factors = 0.0;
+        for (int i = 0; i < length; i++) {
+            int type = reverseBuffer[(tokenCount - 1 - i) % reverseBufferSize];
+            if (backwardStamps[type] != backwardFactorNumber) {
+                backwardStamps[type] = backwardFactorNumber;
+                types++;
+            }
+            currentTtr = (double) types / (++tokens);
+            if (currentTtr <= threshold) {
+                factors += 1;
+                tokens = 0;
+                currentTtr = 1.0;
+                types = 0;
+                backwardFactorNumber--;
+            }
+        }
+        return mtld(length, factors, currentTtr);
+    }
+
+    private double mtld(int length, double factors, double currentTtr) {
+        factors += (1.0 - currentTtr) / (1.0 - threshold);
+        if (factors > 0)
+            return (double) length / factors;
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package pt.up.hs.linguini.analysis.lexicaldiversity;
+
+import pt.up.hs.linguini.analysis.Analysis;
+import pt.up.hs.linguini.models.HasWord;
+import pt.up.hs.linguini.models.LexicalDiversity;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes several lexical diversity metrics of a text at once. Tokens are
+ * encoded as type ids and the frequency table is built a single time, then
+ * shared by every metric.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class LexicalDiversityEngine<T extends HasWord>
+        implements Analysis<List<T>, LexicalDiversity> {
+    private static final int MINIMUM_TOKENS = 50;
+
+    private final Set<LDAlgorithm> algorithms;
+
+    private final MtldAnalysis<T> mtldAnalysis;
+    private final HddAnalysis<T> hddAnalysis;
+    private final VocdAnalysis<T> vocdAnalysis;
+
+    public LexicalDiversityEngine() {
+        this(EnumSet.allOf(LDAlgorithm.class));
+    }
+
+    public LexicalDiversityEngine(Set<LDAlgorithm> algorithms) {
+        this(algorithms, new MtldAnalysis<>(), new HddAnalysis<>(), new VocdAnalysis<>());
+    }
+
+    /**
+     * Create an engine with configured analyses.
+     *
+     * @param algorithms   {@link Set} metrics to compute
+     * @param mtldAnalysis {@link MtldAnalysis} configuration of MTLD
+     * @param hddAnalysis  {@link HddAnalysis} configuration of HD-D
+     * @param vocdAnalysis {@link VocdAnalysis} configuration of voc-D
+     */
+    public LexicalDiversityEngine(
+            Set<LDAlgorithm> algorithms,
+            MtldAnalysis<T> mtldAnalysis,
+            HddAnalysis<T> hddAnalysis,
+            VocdAnalysis<T> vocdAnalysis
+    ) {
+        this.algorithms = EnumSet.copyOf(algorithms);
+        this.mtldAnalysis = mtldAnalysis;
+        this.hddAnalysis = hddAnalysis;
+        this.vocdAnalysis = vocdAnalysis;
+    }
+
+    /**
+     * Compute the metrics of a text. MTLD, HD-D and voc-D are left
+     * {@code null} in texts with less than 50 tokens.
+     *
+     * @param tokens {@link List} tokens of the text
+     * @return {@link LexicalDiversity} metrics of the text
+     */
+    @Override
+    public LexicalDiversity execute(List<T> tokens) {
+
+        TokenTypes tokenTypes = TokenTypes.of(tokens);
+        int[] types = tokenTypes.getTypes();
+        int typeCount = tokenTypes.getTypeCount();
+
+        LexicalDiversity result = new LexicalDiversity();
+
+        if (algorithms.contains(LDAlgorithm.BASE_TTR)) {
+            result.setBaseTtr((double) typeCount / types.length);
+        }
+
+        if (types.length < MINIMUM_TOKENS) {
+            return result;
+        }
+
+        if (algorithms.contains(LDAlgorithm.MTLD)) {
+            result.setMtld(mtldAnalysis.computeMtld(types, typeCount));
+        }
+
+        if (algorithms.contains(LDAlgorithm.HDD)) {
+            result.setHdd(hddAnalysis.computeHdd(
+                    types.length,
+                    TokenTypes.typesByFrequency(tokenTypes.frequencies())
+            ));
+        }
+
+        if (algorithms.contains(LDAlgorithm.VOCD)) {
+            result.setVocd(vocdAnalysis.computeD(types, typeCount));
+        }
+
+        return result;
+    }
+}
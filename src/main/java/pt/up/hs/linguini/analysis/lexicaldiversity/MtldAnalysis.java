@@ -3,9 +3,8 @@
 import pt.up.hs.linguini.analysis.Analysis;
 import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
 import pt.up.hs.linguini.models.HasWord;
-import pt.up.hs.linguini.models.Token;
 
-import java.util.*;
+import java.util.List;
 
 /**
  * MTLD (Measure of Textual Lexical Diversity, or LDAT, Lexical Diversity
@@ -37,32 +36,52 @@ public Double execute(List<T> tokens)  throws AnalysisException {
                     " words.");
         }
 
-        List<T> reversed = new ArrayList<>(tokens);
-        Collections.reverse(reversed);
-        return (calculateMtld(tokens, threshold) +
-                calculateMtld(reversed, threshold)) / 2;
+        TokenTypes tokenTypes = TokenTypes.of(tokens);
+        return computeMtld(tokenTypes.getTypes(), tokenTypes.getTypeCount());
     }
 
-    private double calculateMtld(List<T> tokens, double threshold) {
+    /**
+     * Compute MTLD of a text encoded as the type of each token, as the
+     * average of a forward and a backward pass.
+     *
+     * @param tokenTypes {@code int[]} type id (0 to typeCount - 1) of each
+     *                   token
+     * @param typeCount  {@code int} number of distinct types
+     * @return {@code double} value of MTLD
+     */
+    public double computeMtld(int[] tokenTypes, int typeCount) {
+        int[] stamps = new int[typeCount];
+        return (calculateMtld(tokenTypes, stamps, false) +
+                calculateMtld(tokenTypes, stamps, true)) / 2;
+    }
+
+    private double calculateMtld(int[] tokenTypes, int[] stamps, boolean backwards) {
+        // types seen in the current factor are stamped with its number
+        int factor = backwards ? -1 : 1;
         double currentTtr = 1.0;
-        Set<String> types = new HashSet<>();
+        int types = 0;
         double factors = 0.0;
         int tokenCount = 0;
-        for (T token : tokens) {
-            types.add(token.word());
-            currentTtr = (double) types.size() / (++tokenCount);
+        for (int i = 0; i < tokenTypes.length; i++) {
+            int type = tokenTypes[backwards ? tokenTypes.length - 1 - i : i];
+            if (stamps[type] != factor) {
+                stamps[type] = factor;
+                types++;
+            }
+            currentTtr = (double) types / (++tokenCount);
             if (currentTtr <= threshold) {
                 factors += 1;
                 tokenCount = 0;
                 currentTtr = 1.0;
-                types.clear();
+                types = 0;
+                factor += backwards ? -1 : 1;
             }
         }
         double excess = 1.0 - currentTtr;
         double excessValue = 1.0 - threshold;
         factors += excess / excessValue;
         if (factors > 0)
-            return (double) tokens.size() / factors;
+            return (double) tokenTypes.length / factors;
         return -1;
     }
 }
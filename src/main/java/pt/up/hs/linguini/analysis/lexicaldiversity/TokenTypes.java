@@ -0,0 +1,89 @@
+package pt.up.hs.linguini.analysis.lexicaldiversity;
+
+import pt.up.hs.linguini.models.HasWord;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tokens of a text encoded as the ids of their types (words), from 0 to the
+ * number of types - 1, in order of first occurrence.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public final class TokenTypes {
+
+    private final int[] types;
+    private final int typeCount;
+
+    private TokenTypes(int[] types, int typeCount) {
+        this.types = types;
+        this.typeCount = typeCount;
+    }
+
+    /**
+     * Encode a list of tokens.
+     *
+     * @param tokens {@link List} tokens to encode
+     * @return {@link TokenTypes} encoded tokens
+     */
+    public static TokenTypes of(List<? extends HasWord> tokens) {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] types = new int[tokens.size()];
+        for (int i = 0; i < types.length; i++) {
+            Integer id = ids.putIfAbsent(tokens.get(i).word(), ids.size());
+            types[i] = id == null ? ids.size() - 1 : id;
+        }
+        return new TokenTypes(types, ids.size());
+    }
+
+    /**
+     * Get the type id of each token. The array is shared, do not modify it.
+     *
+     * @return {@code int[]} type id of each token
+     */
+    public int[] getTypes() {
+        return types;
+    }
+
+    public int getTokenCount() {
+        return types.length;
+    }
+
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    /**
+     * Count the occurrences of each type.
+     *
+     * @return {@code int[]} number of tokens of each type id
+     */
+    public int[] frequencies() {
+        int[] frequencies = new int[typeCount];
+        for (int type : types) {
+            frequencies[type]++;
+        }
+        return frequencies;
+    }
+
+    /**
+     * Count the types that share each frequency.
+     *
+     * @param frequencies {@code int[]} number of tokens of each type id
+     * @return {@code int[]} number of types that occur {@code i} times, at
+     * position {@code i}
+     */
+    public static int[] typesByFrequency(int[] frequencies) {
+        int maxFrequency = 0;
+        for (int frequency : frequencies) {
+            maxFrequency = Math.max(maxFrequency, frequency);
+        }
+        int[] typesByFrequency = new int[maxFrequency + 1];
+        for (int frequency : frequencies) {
+            typesByFrequency[frequency]++;
+        }
+        return typesByFrequency;
+    }
+}
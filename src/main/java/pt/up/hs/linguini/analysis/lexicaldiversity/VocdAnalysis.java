@@ -3,12 +3,18 @@
 import pt.up.hs.linguini.analysis.Analysis;
 import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
 import pt.up.hs.linguini.models.HasWord;
-import pt.up.hs.linguini.utils.Pair;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 /**
- * [Description here]
+ * voc-D estimates lexical diversity by fitting the curve of the TTR of
+ * random samples of 35 to 50 tokens. For more information see McKee, G.,
+ * Malvern, D. &amp; Richards, B. (2000). Measuring vocabulary diversity
+ * using dedicated software. Literary and Linguistic Computing, 15(3),
+ * 323-337.
  *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
@@ -31,12 +37,27 @@
 
     private int nrStepTrials;
 
+    private Long seed;
+
     public VocdAnalysis() {
-        this.nrTrials = DEFAULT_NR_OF_TRIALS;
-        this.minSampleSize = DEFAULT_VOCD_MIN_SAMPLE_SIZE;
-        this.maxSampleSize = DEFAULT_VOCD_MAX_SAMPLE_SIZE;
-        this.incrSampleSize = DEFAULT_INCR_SAMPLE_SIZE;
-        this.nrStepTrials = DEFAULT_NR_OF_STEP_TRIALS;
+        this(
+                DEFAULT_NR_OF_TRIALS,
+                DEFAULT_VOCD_MIN_SAMPLE_SIZE,
+                DEFAULT_VOCD_MAX_SAMPLE_SIZE,
+                DEFAULT_INCR_SAMPLE_SIZE,
+                DEFAULT_NR_OF_STEP_TRIALS
+        );
+    }
+
+    public VocdAnalysis(long seed) {
+        this(
+                DEFAULT_NR_OF_TRIALS,
+                DEFAULT_VOCD_MIN_SAMPLE_SIZE,
+                DEFAULT_VOCD_MAX_SAMPLE_SIZE,
+                DEFAULT_INCR_SAMPLE_SIZE,
+                DEFAULT_NR_OF_STEP_TRIALS,
+                seed
+        );
     }
 
     public VocdAnalysis(
@@ -53,6 +74,29 @@ public VocdAnalysis(
         this.nrStepTrials = nrStepTrials;
     }
 
+    /**
+     * Create a voc-D analysis whose random samples are drawn from a seeded
+     * generator, so that the same tokens always give the same result.
+     *
+     * @param nrTrials       {@code int} number of trials to average
+     * @param minSampleSize  {@code int} smallest sample size
+     * @param maxSampleSize  {@code int} largest sample size
+     * @param incrSampleSize {@code int} increment of the sample size
+     * @param nrStepTrials   {@code int} samples drawn for each sample size
+     * @param seed           {@code long} seed of the random generator
+     */
+    public VocdAnalysis(
+            int nrTrials,
+            int minSampleSize,
+            int maxSampleSize,
+            int incrSampleSize,
+            int nrStepTrials,
+            long seed
+    ) {
+        this(nrTrials, minSampleSize, maxSampleSize, incrSampleSize, nrStepTrials);
+        this.seed = seed;
+    }
+
     @Override
     public Double execute(List<T> tokens) throws AnalysisException {
 
@@ -62,122 +106,76 @@ public Double execute(List<T> tokens) throws AnalysisException {
                     " words.");
         }
 
-        return computeD(tokens);
+        TokenTypes tokenTypes = TokenTypes.of(tokens);
+        return computeD(tokenTypes.getTypes(), tokenTypes.getTypeCount());
     }
 
-    private double computeD(List<T> tokens) {
-
-        List<DMinValue> dMinTrials = new ArrayList<>();
+    /**
+     * Compute voc-D of a text encoded as the type of each token. Trials run
+     * in parallel, each one with its own random generator split from the
+     * seeded one (if any) before starting.
+     *
+     * @param tokenTypes {@code int[]} type id (0 to typeCount - 1) of each
+     *                   token
+     * @param typeCount  {@code int} number of distinct types
+     * @return {@code double} value of voc-D
+     */
+    public double computeD(int[] tokenTypes, int typeCount) {
+
+        SplittableRandom random = seed == null
+                ? new SplittableRandom()
+                : new SplittableRandom(seed);
+        SplittableRandom[] trialRandoms = new SplittableRandom[nrTrials];
         for (int j = 0; j < nrTrials; j++) {
-
-            List<NTValue> ntTuples = new ArrayList<>();
-            for (int i = minSampleSize; i <= maxSampleSize; i += incrSampleSize) {
-
-                Pair<Double, Double> avgTtr = calculateAvgTtr(tokens, i);
-
-                NTValue nt = new NTValue();
-                nt.N = i;
-                nt.S = nrStepTrials;
-                nt.T = avgTtr.getFirst();
-                nt.SD = avgTtr.getSecond();
-                nt.D = calculateDGivenNAndTtr(i, avgTtr.getFirst());
-
-                ntTuples.add(nt);
-            }
-
-            /*for (NTValue ntValue: ntTuples) {
-                System.out.printf(
-                        "%d %d %.4f %.4f %.4f\n",
-                        ntValue.N, ntValue.S, ntValue.T, ntValue.SD, ntValue.D
-                );
-            }*/
-
-            // calculate mean value of d
-            int discard = 0;
-            double dAvg = 0.0;
-            for (NTValue ntTuple: ntTuples) {
-                if (Double.compare(ntTuple.D, 0D) == 0) {
-                    discard++;
-                    continue;
-                }
-                dAvg += ntTuple.D;
-            }
-            dAvg = dAvg / (double) (ntTuples.size() - discard);
-
-            // calculate std dev value of d
-            discard = 0;
-            double dStd = 0.0;
-            for (NTValue ntTuple: ntTuples) {
-                if (Double.compare(ntTuple.D, 0D) == 0) {
-                    discard++;
-                    continue;
-                }
-                dStd += (ntTuple.D - dAvg) * (ntTuple.D - dAvg);
-            }
-            dStd = Math.sqrt(dStd / ((double) ntTuples.size() - discard));
-
-            DValue d = new DValue();
-            d.ntTuples = ntTuples;
-            d.D = dAvg;
-            d.STD = dStd;
-
-            /*System.out.printf("D: average = %.3f; std dev. = %.3f\n", d.D, d.STD);*/
-
-            DMinValue dMin = findMinD(dAvg, ntTuples);
-
-            /*System.out.printf("D_optimum     <%.2f; min least sq val = %.3f>\n", dMin.dmin, dMin.mls);*/
-
-            dMinTrials.add(dMin);
+            trialRandoms[j] = random.split();
         }
 
-        /*double ttr = calculateTTRFromSeq(tokens);
-        System.out.printf("   Types,Tokens,TTR:  <%f>\n", ttr);*/
+        double[] dMinTrials = IntStream.range(0, nrTrials)
+                .parallel()
+                .mapToDouble(j -> computeTrialD(tokenTypes, typeCount, trialRandoms[j]))
+                .toArray();
 
         double dMinAvg = 0;
         for (int j = 0; j < nrTrials; j++) {
-            dMinAvg += dMinTrials.get(j).dmin;
+            dMinAvg += dMinTrials[j];
         }
         dMinAvg = dMinAvg / nrTrials;
 
-        /*System.out.printf("  D_optimum average:  %.2f\n", dMinAvg);*/
-
         return dMinAvg;
     }
 
-    private Pair<Double, Double> calculateAvgTtr(List<T> tokens, int sampleSize) {
+    private double computeTrialD(int[] tokenTypes, int typeCount, SplittableRandom random) {
 
-        List<Double> ttrTrials = new ArrayList<>();
+        Sampler sampler = new Sampler(tokenTypes, typeCount, random);
 
-        for (int i = 0; i < nrStepTrials; i++) {
+        List<NTValue> ntTuples = new ArrayList<>();
+        for (int i = minSampleSize; i <= maxSampleSize; i += incrSampleSize) {
 
-            List<T> mixedList = new ArrayList<>(tokens);
-            Collections.shuffle(mixedList);
+            sampler.sampleTtr(i);
 
-            List<T> samplingList = mixedList.subList(0, sampleSize);
+            NTValue nt = new NTValue();
+            nt.N = i;
+            nt.S = nrStepTrials;
+            nt.T = sampler.mean;
+            nt.SD = sampler.stdDev;
+            nt.D = calculateDGivenNAndTtr(i, sampler.mean);
 
-            double ttr = new BaseTtrAnalysis<>().execute((List<HasWord>) samplingList);
-
-            /*System.out.println("Sample Size = " + sampleSize);
-            System.out.println("TTR = " + String.format("%.3f", ttr));*/
-
-            ttrTrials.add(ttr);
+            ntTuples.add(nt);
         }
 
-        double mean = ttrTrials.parallelStream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0);
-
-        double stdDev = Math.sqrt(
-                ttrTrials.parallelStream()
-                    .map(i -> i - mean)
-                    .map(i -> i * i)
-                    .mapToDouble(i -> i)
-                    .average()
-                    .orElse(0)
-        );
+        // calculate mean value of d
+        int discard = 0;
+        double dAvg = 0.0;
+        for (NTValue ntTuple: ntTuples) {
+            if (Double.compare(ntTuple.D, 0D) == 0) {
+                discard++;
+                continue;
+            }
+            dAvg += ntTuple.D;
+        }
+        dAvg = dAvg / (double) (ntTuples.size() - discard);
 
-        return new Pair<>(mean, stdDev);
+        return findMinD(dAvg, ntTuples).dmin;
     }
 
     private double calculateTtrGivenNAndD(int n, double d) {
@@ -238,6 +236,60 @@ private double calculateLsGivenDAndPairsNtTuples(double d, List<NTValue> ntTuple
         return ls;
     }
 
+    /**
+     * Draws random samples of tokens of a trial. The tokens are kept in one
+     * array, permuted in place, and each sample is taken with a partial
+     * Fisher-Yates shuffle of its first positions only. Types are counted
+     * with an array of stamps, so no memory is allocated per sample.
+     */
+    private class Sampler {
+        private final int[] tokens;
+        private final int[] stamps;
+        private final double[] ttrs = new double[nrStepTrials];
+        private final SplittableRandom random;
+
+        private int stamp = 0;
+
+        private double mean;
+        private double stdDev;
+
+        Sampler(int[] tokenTypes, int typeCount, SplittableRandom random) {
+            this.tokens = tokenTypes.clone();
+            this.stamps = new int[typeCount];
+            this.random = random;
+        }
+
+        void sampleTtr(int sampleSize) {
+            for (int t = 0; t < nrStepTrials; t++) {
+                stamp++;
+                int types = 0;
+                for (int k = 0; k < sampleSize; k++) {
+                    int r = k + random.nextInt(tokens.length - k);
+                    int type = tokens[r];
+                    tokens[r] = tokens[k];
+                    tokens[k] = type;
+                    if (stamps[type] != stamp) {
+                        stamps[type] = stamp;
+                        types++;
+                    }
+                }
+                ttrs[t] = (double) types / sampleSize;
+            }
+
+            double sum = 0;
+            for (double ttr : ttrs) {
+                sum += ttr;
+            }
+            mean = sum / nrStepTrials;
+
+            double sumSq = 0;
+            for (double ttr : ttrs) {
+                sumSq += (ttr - mean) * (ttr - mean);
+            }
+            stdDev = Math.sqrt(sumSq / nrStepTrials);
+        }
+    }
+
     static class NTValue {
         int     N;     /* number of tokens */
         int     S;     /* number of segments*/
@@ -246,12 +298,6 @@ static class NTValue {
         double  D;     /* value of D calculated from equation */
     }
 
-    static class DValue {
-        List<NTValue>  ntTuples;    /* set of nt values    */
-        double         D;           /* average value of D  */
-        double         STD;         /* standard dev.       */
-    }
-
     static class DMinValue {
         double dmin;  /* minimum estimated D value  */
         double mls;   /* minimum least square value */
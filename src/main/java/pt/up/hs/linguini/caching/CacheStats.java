@@ -0,0 +1,100 @@
+package pt.up.hs.linguini.caching;
+
+/**
+ * Snapshot of the statistics of a cache.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadCount;
+    private final long totalLoadTime;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount,
+                      long loadCount, long totalLoadTime) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+    }
+
+    /**
+     * Number of lookups that found a value.
+     *
+     * @return {@code long} number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Number of lookups that did not find a value.
+     *
+     * @return {@code long} number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Number of entries removed because the cache was full or they
+     * expired.
+     *
+     * @return {@code long} number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Number of values computed by loaders on a miss.
+     *
+     * @return {@code long} number of loads
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Time spent computing values by loaders, in nanoseconds.
+     *
+     * @return {@code long} total load time (ns)
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Ratio of lookups that found a value (1 if there were none).
+     *
+     * @return {@code double} hit rate
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Average time spent computing a value by a loader, in nanoseconds.
+     *
+     * @return {@code double} average load time (ns)
+     */
+    public double getAverageLoadTime() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", loadCount=" + loadCount +
+                ", totalLoadTime=" + totalLoadTime +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package pt.up.hs.linguini.caching;
+
+/**
+ * Policies to choose the entry evicted from a full cache.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public enum EvictionPolicy {
+    /** Evict the least recently accessed entry. */
+    LRU,
+    /** Evict the oldest inserted entry. */
+    FIFO
+}
@@ -1,117 +1,311 @@
 package pt.up.hs.linguini.caching;
 
-import org.apache.commons.collections4.MapIterator;
-import org.apache.commons.collections4.map.LRUMap;
-
-import java.util.ArrayList;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
- * Simple in-memory LRU cache
+ * Simple in-memory LRU (or FIFO) cache, safe for concurrent use. Entries are
+ * spread over independently locked segments, each one with its own order, so
+ * that threads working on different keys rarely wait for each other.
+ * Entries not accessed for longer than the time to live are dropped on
+ * lookup and by a periodic cleanup, run by a single daemon thread shared by
+ * every cache.
  *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class InMemoryCache<K, T> {
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_SIZE = 16;
+
+    private static final ScheduledExecutorService cleaner =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "linguini-cache-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     private final long timeToLive;
-    private final LRUMap<K, CacheObject> cacheMap;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
 
-    private Thread cleanupThread;
+    private ScheduledFuture<?> cleanupTask;
 
     protected class CacheObject {
-        public long lastAccessed = System.currentTimeMillis();
-        public T value;
+        public volatile long lastAccessed = System.currentTimeMillis();
+        public final T value;
 
         protected CacheObject(T value) {
             this.value = value;
         }
     }
 
+    /**
+     * Create a cache.
+     *
+     * @param timeToLive    {@code long} time (in seconds) an entry is kept
+     *                      without being accessed, or 0 to keep it forever
+     * @param timerInterval {@code long} interval (in seconds) between
+     *                      cleanups of expired entries
+     * @param maxItems      {@code int} maximum number of entries
+     */
     public InMemoryCache(long timeToLive, final long timerInterval, int maxItems) {
+        this(timeToLive, timerInterval, maxItems, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param timeToLive     {@code long} time (in seconds) an entry is kept
+     *                       without being accessed, or 0 to keep it forever
+     * @param timerInterval  {@code long} interval (in seconds) between
+     *                       cleanups of expired entries
+     * @param maxItems       {@code int} maximum number of entries
+     * @param evictionPolicy {@link EvictionPolicy} which entry to evict when
+     *                       the cache is full
+     */
+    @SuppressWarnings("unchecked")
+    public InMemoryCache(long timeToLive, final long timerInterval, int maxItems,
+                         EvictionPolicy evictionPolicy) {
         this.timeToLive = timeToLive * 1000;
 
-        cacheMap = new LRUMap<>(maxItems);
+        int segmentCount = 1;
+        int maxSegments = Math.min(
+                MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 4);
+        while (segmentCount * 2 <= maxSegments
+                && maxItems / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        segments = (Segment[]) new InMemoryCache<?, ?>.Segment[segmentCount];
+        segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = maxItems / segmentCount + (i < maxItems % segmentCount ? 1 : 0);
+            segments[i] = new Segment(
+                    Math.max(1, capacity), evictionPolicy == EvictionPolicy.LRU);
+        }
 
         if (this.timeToLive > 0 && timerInterval > 0) {
-
-            cleanupThread = new Thread(() -> {
-                while (true) {
-                    try {
-                        Thread.sleep(timerInterval * 1000);
-                    } catch (InterruptedException ex) {
-                    }
-                    cleanup();
+            // the task only references the cache weakly, and cancels itself
+            // once the cache is no longer in use
+            WeakReference<InMemoryCache<K, T>> ref = new WeakReference<>(this);
+            AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+            cleanupTask = cleaner.scheduleWithFixedDelay(() -> {
+                InMemoryCache<K, T> cache = ref.get();
+                if (cache == null) {
+                    task.get().cancel(false);
+                    return;
                 }
-            });
-
-            cleanupThread.setDaemon(true);
-            cleanupThread.start();
+                cache.cleanup();
+            }, timerInterval, timerInterval, TimeUnit.SECONDS);
+            task.set(cleanupTask);
         }
     }
 
     public void put(K key, T value) {
-        synchronized (cacheMap) {
-            cacheMap.put(key, new CacheObject(value));
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.put(key, new CacheObject(value));
+        } finally {
+            segment.lock.unlock();
         }
     }
 
     public T get(K key) {
-        synchronized (cacheMap) {
-            CacheObject c = cacheMap.get(key);
-
-            if (c == null)
-                return null;
-            else {
-                c.lastAccessed = System.currentTimeMillis();
-                return c.value;
+        Segment segment = segmentFor(key);
+        CacheObject c;
+        segment.lock.lock();
+        try {
+            c = segment.map.get(key);
+            if (c != null && isExpired(c, System.currentTimeMillis())) {
+                segment.map.remove(key);
+                evictions.increment();
+                c = null;
             }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (c == null) {
+            misses.increment();
+            return null;
+        } else {
+            hits.increment();
+            c.lastAccessed = System.currentTimeMillis();
+            return c.value;
         }
     }
 
+    /**
+     * Get the value of a key, computing and caching it on a miss. The loader
+     * runs outside of any lock, so concurrent misses on the same key may
+     * compute the value more than once. {@code null} values are not cached.
+     *
+     * @param key    key to look up
+     * @param loader {@link Function} computes the value of a missing key
+     * @return value of the key
+     */
+    public T get(K key, Function<? super K, ? extends T> loader) {
+        T value = get(key);
+        if (value == null) {
+            long start = System.nanoTime();
+            value = loader.apply(key);
+            loadTime.add(System.nanoTime() - start);
+            loads.increment();
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
     public void remove(K key) {
-        synchronized (cacheMap) {
-            cacheMap.remove(key);
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
         }
     }
 
-    public int size() {
-        synchronized (cacheMap) {
-            return cacheMap.size();
+    /**
+     * Remove every entry of this cache.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
-    public void cleanup() {
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
 
+    /**
+     * Get a copy of the entries of this cache that have not expired.
+     *
+     * @return {@link Map} entries of this cache
+     */
+    public Map<K, T> asMap() {
         long now = System.currentTimeMillis();
-        ArrayList<K> deleteKey;
-
-        synchronized (cacheMap) {
-            MapIterator itr = cacheMap.mapIterator();
+        Map<K, T> entries = new HashMap<>();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (Map.Entry<K, CacheObject> entry : segment.map.entrySet()) {
+                    if (!isExpired(entry.getValue(), now)) {
+                        entries.put(entry.getKey(), entry.getValue().value);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return entries;
+    }
 
-            deleteKey = new ArrayList<K>((cacheMap.size() / 2) + 1);
-            K key = null;
-            CacheObject c = null;
+    /**
+     * Get a snapshot of the statistics of this cache.
+     *
+     * @return {@link CacheStats} statistics of this cache
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                loads.sum(),
+                loadTime.sum()
+        );
+    }
 
-            while (itr.hasNext()) {
-                key = (K) itr.next();
-                c = (CacheObject) itr.getValue();
+    public void cleanup() {
+        if (timeToLive <= 0) {
+            return;
+        }
 
-                if (c != null && (now > (timeToLive + c.lastAccessed))) {
-                    deleteKey.add(key);
+        long now = System.currentTimeMillis();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                Iterator<CacheObject> itr = segment.map.values().iterator();
+                while (itr.hasNext()) {
+                    if (isExpired(itr.next(), now)) {
+                        itr.remove();
+                        evictions.increment();
+                    }
                 }
+            } finally {
+                segment.lock.unlock();
             }
         }
+    }
 
-        for (K key : deleteKey) {
-            synchronized (cacheMap) {
-                cacheMap.remove(key);
-            }
-
-            Thread.yield();
+    public void close() {
+        if (cleanupTask != null) {
+            cleanupTask.cancel(false);
         }
     }
 
-    public void close() {
-        cleanupThread.interrupt();
+    private boolean isExpired(CacheObject c, long now) {
+        return timeToLive > 0 && now > timeToLive + c.lastAccessed;
+    }
+
+    private Segment segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * Part of the cache, with its own lock and LRU order.
+     */
+    private class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, CacheObject> map;
+
+        Segment(int capacity, boolean accessOrder) {
+            map = new LinkedHashMap<K, CacheObject>(16, 0.75f, accessOrder) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, CacheObject> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,75 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.data.DELAFEntry;
+import pt.up.hs.linguini.data.IDELAFDataSource;
+
+import java.util.Collection;
+
+/**
+ * DELAF data source backed by shared, read-only {@link CompactDictionary}
+ * layers. Changes made through this data source are kept in the instance,
+ * for the forms they touch, and never reach the shared dictionaries.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public abstract class CompactDELAFDataSource implements IDELAFDataSource {
+
+    // shared, read-only dictionaries, with the changes of this instance
+    private final DictionaryOverlay entries;
+
+    protected CompactDELAFDataSource(CompactDictionary... layers) {
+        this.entries = new DictionaryOverlay(layers);
+    }
+
+    @Override
+    public void add(String word, String lemma, String pos, String subcategory, String morphAttributes) {
+        entries.add(new DELAFEntry(word, lemma, pos, subcategory, morphAttributes));
+    }
+
+    @Override
+    public Collection<DELAFEntry> remove(String word) {
+        if (!contains(word)) {
+            return null;
+        }
+        return entries.remove(word);
+    }
+
+    @Override
+    public Collection<DELAFEntry> remove(String word, String pos) {
+        Collection<DELAFEntry> removedEntries = entries.remove(word, pos);
+        if (removedEntries.isEmpty()) {
+            return null;
+        }
+        return removedEntries;
+    }
+
+    @Override
+    public Collection<DELAFEntry> getAllEntries() {
+        return entries.allEntries();
+    }
+
+    @Override
+    public Collection<DELAFEntry> getEntries(String word) {
+        return entries.entries(word);
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return entries.contains(word);
+    }
+
+    @Override
+    public boolean contains(String word, String posTag) {
+        return entries.contains(word, posTag);
+    }
+
+    @Override
+    public Collection<String> getLemmas(String word, String posTag) {
+        return entries.lemmas(word, posTag);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+}
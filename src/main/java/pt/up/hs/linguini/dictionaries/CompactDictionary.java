@@ -0,0 +1,461 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.data.DELAFEntry;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only dictionary of DELAF entries in a compact layout. Inflected forms
+ * are kept sorted in a {@link StringTable} and found by binary search. The
+ * entries of the i-th form are at positions {@code entryOffsets[i]} to
+ * {@code entryOffsets[i + 1]} of primitive columns with the id of the lemma,
+ * PoS tag, subcategory and morphological attributes, each one interned in
+ * its own table. No object is kept per form or per entry.
+ *
+ * Instances are immutable and can be shared by any number of threads.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class CompactDictionary {
+    private static final int NONE = -1;
+
+    final StringTable forms;
+    final StringTable lemmas;
+    final StringTable tags;
+    final StringTable subcategories;
+    final StringTable morphAttributes;
+
+    final IntBuffer entryOffsets;
+    final IntBuffer entryLemmas;
+    final IntBuffer entryTags;
+    final IntBuffer entrySubcategories;
+    final IntBuffer entryMorphAttributes;
+
+    private final Map<String, Integer> tagIds = new HashMap<>();
+
+    private volatile LexiconIndex lexiconIndex;
+
+    CompactDictionary(
+            StringTable forms,
+            StringTable lemmas,
+            StringTable tags,
+            StringTable subcategories,
+            StringTable morphAttributes,
+            IntBuffer entryOffsets,
+            IntBuffer entryLemmas,
+            IntBuffer entryTags,
+            IntBuffer entrySubcategories,
+            IntBuffer entryMorphAttributes
+    ) {
+        this.forms = forms;
+        this.lemmas = lemmas;
+        this.tags = tags;
+        this.subcategories = subcategories;
+        this.morphAttributes = morphAttributes;
+        this.entryOffsets = entryOffsets;
+        this.entryLemmas = entryLemmas;
+        this.entryTags = entryTags;
+        this.entrySubcategories = entrySubcategories;
+        this.entryMorphAttributes = entryMorphAttributes;
+
+        for (int i = 0; i < tags.size(); i++) {
+            tagIds.put(tags.get(i), i);
+        }
+    }
+
+    /**
+     * Create a compact dictionary from entries indexed by inflected form.
+     *
+     * @param dictionary {@link Map} entries indexed by inflected form
+     * @return {@link CompactDictionary} compact dictionary
+     */
+    public static CompactDictionary of(Map<String, ? extends Set<DELAFEntry>> dictionary) {
+        Builder builder = new Builder();
+        for (Set<DELAFEntry> entries: dictionary.values()) {
+            for (DELAFEntry entry: entries) {
+                builder.add(entry.getWord(), entry.getLemma(), entry.getPos(),
+                        entry.getSubcategory(), entry.getMorphAttributes());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Map a compiled dictionary file in memory. Mapping is almost immediate,
+     * as pages are only read when used, and they are shared with every
+     * other process mapping the same file.
+     *
+     * @param file {@link Path} compiled dictionary file
+     * @return {@link CompactDictionary} mapped dictionary
+     * @throws IOException if the file cannot be read or is not a compiled
+     *                     dictionary of the supported version
+     * @see DictionaryCompiler
+     */
+    public static CompactDictionary map(Path file) throws IOException {
+        return CompactDictionaryFile.map(file);
+    }
+
+    /**
+     * Write this dictionary to a compiled dictionary file.
+     *
+     * @param file {@link Path} file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        CompactDictionaryFile.write(this, file);
+    }
+
+    /**
+     * Get the number of inflected forms.
+     *
+     * @return {@code int} number of inflected forms
+     */
+    public int size() {
+        return forms.size();
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return {@code int} number of entries
+     */
+    public int entryCount() {
+        return entryLemmas.limit();
+    }
+
+    public boolean contains(String word) {
+        return forms.indexOf(word) >= 0;
+    }
+
+    public boolean contains(String word, String posTag) {
+        Integer tag = tagIds.get(posTag);
+        if (tag == null) {
+            return false;
+        }
+        int form = forms.indexOf(word);
+        if (form < 0) {
+            return false;
+        }
+        for (int i = entryOffsets.get(form); i < entryOffsets.get(form + 1); i++) {
+            if (entryTags.get(i) == tag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(DELAFEntry entry) {
+        return getEntries(entry.getWord()).contains(entry);
+    }
+
+    /**
+     * Get the distinct lemmas of an inflected form with a PoS tag.
+     *
+     * @param word   {@link String} inflected form
+     * @param posTag {@link String} PoS tag
+     * @return {@link Set} lemmas of the inflected form
+     */
+    public Set<String> getLemmas(String word, String posTag) {
+        Set<String> result = new LinkedHashSet<>();
+        Integer tag = tagIds.get(posTag);
+        int form = forms.indexOf(word);
+        if (tag == null || form < 0) {
+            return result;
+        }
+        for (int i = entryOffsets.get(form); i < entryOffsets.get(form + 1); i++) {
+            if (entryTags.get(i) == tag) {
+                result.add(lemmas.get(entryLemmas.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the entries of an inflected form.
+     *
+     * @param word {@link String} inflected form
+     * @return {@link List} entries of the inflected form
+     */
+    public List<DELAFEntry> getEntries(String word) {
+        int form = forms.indexOf(word);
+        if (form < 0) {
+            return new ArrayList<>();
+        }
+        int start = entryOffsets.get(form);
+        int end = entryOffsets.get(form + 1);
+        List<DELAFEntry> entries = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            entries.add(entry(word, i));
+        }
+        return entries;
+    }
+
+    /**
+     * Get all the entries of the dictionary.
+     *
+     * @return {@link List} all the entries
+     */
+    public List<DELAFEntry> getAllEntries() {
+        List<DELAFEntry> entries = new ArrayList<>(entryCount());
+        for (int form = 0; form < forms.size(); form++) {
+            String word = forms.get(form);
+            for (int i = entryOffsets.get(form); i < entryOffsets.get(form + 1); i++) {
+                entries.add(entry(word, i));
+            }
+        }
+        return entries;
+    }
+
+    public int lemmaCount() {
+        return lemmas.size();
+    }
+
+    public String lemma(int id) {
+        return lemmas.get(id);
+    }
+
+    public int tagCount() {
+        return tags.size();
+    }
+
+    public String tag(int id) {
+        return tags.get(id);
+    }
+
+    /**
+     * Call an action with the lemma and PoS tag ids of each entry.
+     *
+     * @param action {@link LemmaTagConsumer} action to call
+     */
+    public void forEachLemmaTag(LemmaTagConsumer action) {
+        for (int i = 0; i < entryCount(); i++) {
+            action.accept(entryLemmas.get(i), entryTags.get(i));
+        }
+    }
+
+    /**
+     * Get the index of lemmas and PoS tags of this dictionary. It is built
+     * on first use and shared by every lexicon of this dictionary.
+     *
+     * @return {@link LexiconIndex} index of lemmas and PoS tags
+     */
+    LexiconIndex lexiconIndex() {
+        LexiconIndex index = lexiconIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = lexiconIndex;
+                if (index == null) {
+                    index = LexiconIndex.of(this);
+                    lexiconIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private DELAFEntry entry(String word, int i) {
+        int subcategory = entrySubcategories.get(i);
+        int morph = entryMorphAttributes.get(i);
+        return new DELAFEntry(
+                word,
+                lemmas.get(entryLemmas.get(i)),
+                tags.get(entryTags.get(i)),
+                subcategory == NONE ? null : subcategories.get(subcategory),
+                morph == NONE ? null : morphAttributes.get(morph));
+    }
+
+    /**
+     * Action on the lemma and PoS tag ids of an entry.
+     */
+    @FunctionalInterface
+    public interface LemmaTagConsumer {
+        void accept(int lemmaId, int tagId);
+    }
+
+    /**
+     * Builder of compact dictionaries. Strings are interned as entries are
+     * added, and sorted into tables on {@link #build()}. Duplicate entries
+     * are kept only once.
+     */
+    public static class Builder {
+        private final Interner formInterner = new Interner();
+        private final Interner lemmaInterner = new Interner();
+        private final Interner tagInterner = new Interner();
+        private final Interner subcategoryInterner = new Interner();
+        private final Interner morphInterner = new Interner();
+
+        // columns of the entries, in order of addition
+        private int[][] columns = new int[5][1024];
+        private int count = 0;
+
+        public Builder() {
+        }
+
+        public Builder add(
+                String word, String lemma, String pos,
+                String subcategory, String morphAttributes) {
+            if (count == columns[0].length) {
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], count * 2);
+                }
+            }
+            columns[0][count] = formInterner.intern(word);
+            columns[1][count] = lemmaInterner.intern(lemma);
+            columns[2][count] = tagInterner.intern(pos);
+            columns[3][count] = subcategory == null ? NONE : subcategoryInterner.intern(subcategory);
+            columns[4][count] = morphAttributes == null ? NONE : morphInterner.intern(morphAttributes);
+            count++;
+            return this;
+        }
+
+        /**
+         * Add all the entries of another builder to this one.
+         *
+         * @param other {@link Builder} builder to add
+         * @return {@link Builder} this builder
+         */
+        public Builder merge(Builder other) {
+            int[][] translations = {
+                    formInterner.internAll(other.formInterner),
+                    lemmaInterner.internAll(other.lemmaInterner),
+                    tagInterner.internAll(other.tagInterner),
+                    subcategoryInterner.internAll(other.subcategoryInterner),
+                    morphInterner.internAll(other.morphInterner)
+            };
+            int size = count + other.count;
+            if (size > columns[0].length) {
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], Math.max(size, count * 2));
+                }
+            }
+            for (int c = 0; c < columns.length; c++) {
+                for (int i = 0; i < other.count; i++) {
+                    columns[c][count + i] = rank(translations[c], other.columns[c][i]);
+                }
+            }
+            count = size;
+            return this;
+        }
+
+        public CompactDictionary build() {
+            int[] formRanks = formInterner.ranks();
+            int[] lemmaRanks = lemmaInterner.ranks();
+            int[] tagRanks = tagInterner.ranks();
+            int[] subcategoryRanks = subcategoryInterner.ranks();
+            int[] morphRanks = morphInterner.ranks();
+
+            // counting sort of the entries by rank of their form
+            int formCount = formRanks.length;
+            int[] offsets = new int[formCount + 1];
+            for (int i = 0; i < count; i++) {
+                offsets[formRanks[columns[0][i]] + 1]++;
+            }
+            for (int f = 0; f < formCount; f++) {
+                offsets[f + 1] += offsets[f];
+            }
+            int[] next = Arrays.copyOf(offsets, formCount);
+            int[][] sorted = new int[4][count];
+            for (int i = 0; i < count; i++) {
+                int position = next[formRanks[columns[0][i]]]++;
+                sorted[0][position] = lemmaRanks[columns[1][i]];
+                sorted[1][position] = tagRanks[columns[2][i]];
+                sorted[2][position] = rank(subcategoryRanks, columns[3][i]);
+                sorted[3][position] = rank(morphRanks, columns[4][i]);
+            }
+
+            // drop duplicates within each form
+            int[] entryOffsets = new int[formCount + 1];
+            int size = 0;
+            for (int f = 0; f < formCount; f++) {
+                for (int i = offsets[f]; i < offsets[f + 1]; i++) {
+                    if (!isDuplicate(sorted, entryOffsets[f], size, i)) {
+                        for (int c = 0; c < sorted.length; c++) {
+                            sorted[c][size] = sorted[c][i];
+                        }
+                        size++;
+                    }
+                }
+                entryOffsets[f + 1] = size;
+            }
+
+            return new CompactDictionary(
+                    StringTable.of(formInterner.sorted()),
+                    StringTable.of(lemmaInterner.sorted()),
+                    StringTable.of(tagInterner.sorted()),
+                    StringTable.of(subcategoryInterner.sorted()),
+                    StringTable.of(morphInterner.sorted()),
+                    IntBuffer.wrap(entryOffsets),
+                    IntBuffer.wrap(Arrays.copyOf(sorted[0], size)),
+                    IntBuffer.wrap(Arrays.copyOf(sorted[1], size)),
+                    IntBuffer.wrap(Arrays.copyOf(sorted[2], size)),
+                    IntBuffer.wrap(Arrays.copyOf(sorted[3], size)));
+        }
+
+        private static int rank(int[] ranks, int id) {
+            return id == NONE ? NONE : ranks[id];
+        }
+
+        private static boolean isDuplicate(int[][] sorted, int from, int to, int i) {
+            for (int j = from; j < to; j++) {
+                if (sorted[0][j] == sorted[0][i] && sorted[1][j] == sorted[1][i]
+                        && sorted[2][j] == sorted[2][i] && sorted[3][j] == sorted[3][i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Assigns ids to strings in order of arrival, and ranks them in sorted
+     * order at the end.
+     */
+    private static class Interner {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private String[] sorted;
+
+        int intern(String s) {
+            Integer id = ids.putIfAbsent(s, strings.size());
+            if (id == null) {
+                strings.add(s);
+                return strings.size() - 1;
+            }
+            return id;
+        }
+
+        int[] internAll(Interner other) {
+            int[] translation = new int[other.strings.size()];
+            for (int i = 0; i < translation.length; i++) {
+                translation[i] = intern(other.strings.get(i));
+            }
+            return translation;
+        }
+
+        String[] sorted() {
+            if (sorted == null) {
+                sorted = strings.toArray(new String[0]);
+                Arrays.sort(sorted);
+            }
+            return sorted;
+        }
+
+        int[] ranks() {
+            String[] sorted = sorted();
+            int[] ranks = new int[sorted.length];
+            for (int rank = 0; rank < sorted.length; rank++) {
+                ranks[ids.get(sorted[rank])] = rank;
+            }
+            return ranks;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package pt.up.hs.linguini.dictionaries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format of a {@link CompactDictionary}, meant to be memory
+ * mapped. The file starts with a magic number and a format version,
+ * followed by the string tables (forms, lemmas, PoS tags, subcategories and
+ * morphological attributes) and the entry columns. Each string table is its
+ * number of chars and of strings, the UTF-16 chars (padded to 4 bytes) and
+ * the offsets. Each column is its length followed by the ints. All numbers
+ * are big-endian.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+class CompactDictionaryFile {
+    static final int MAGIC = 0x4C444943; // "LDIC"
+    static final int VERSION = 1;
+
+    private CompactDictionaryFile() {
+    }
+
+    /**
+     * Write a dictionary to a file. The file is written aside and moved
+     * into place, so readers never map a partially written file.
+     *
+     * @param dictionary {@link CompactDictionary} dictionary to write
+     * @param file       {@link Path} file to write
+     * @throws IOException if the file cannot be written
+     */
+    static void write(CompactDictionary dictionary, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeTable(out, dictionary.forms);
+                writeTable(out, dictionary.lemmas);
+                writeTable(out, dictionary.tags);
+                writeTable(out, dictionary.subcategories);
+                writeTable(out, dictionary.morphAttributes);
+                writeColumn(out, dictionary.entryOffsets);
+                writeColumn(out, dictionary.entryLemmas);
+                writeColumn(out, dictionary.entryTags);
+                writeColumn(out, dictionary.entrySubcategories);
+                writeColumn(out, dictionary.entryMorphAttributes);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Map a dictionary file in memory (read-only). Pages are loaded by the
+     * OS on demand and shared by every process mapping the same file.
+     *
+     * @param file {@link Path} file to map
+     * @return {@link CompactDictionary} mapped dictionary
+     * @throws IOException if the file cannot be read or is not a dictionary
+     *                     of this version
+     */
+    static CompactDictionary map(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled dictionary: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled dictionary version "
+                    + version + " (expected " + VERSION + "): " + file);
+        }
+        return new CompactDictionary(
+                readTable(buffer),
+                readTable(buffer),
+                readTable(buffer),
+                readTable(buffer),
+                readTable(buffer),
+                readColumn(buffer),
+                readColumn(buffer),
+                readColumn(buffer),
+                readColumn(buffer),
+                readColumn(buffer));
+    }
+
+    private static void writeTable(DataOutputStream out, StringTable table)
+            throws IOException {
+        CharBuffer chars = table.chars();
+        IntBuffer offsets = table.offsets();
+        out.writeInt(chars.limit());
+        out.writeInt(table.size());
+        for (int i = 0; i < chars.limit(); i++) {
+            out.writeChar(chars.get(i));
+        }
+        if (chars.limit() % 2 != 0) {
+            out.writeChar(0);
+        }
+        for (int i = 0; i < offsets.limit(); i++) {
+            out.writeInt(offsets.get(i));
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, IntBuffer column)
+            throws IOException {
+        out.writeInt(column.limit());
+        for (int i = 0; i < column.limit(); i++) {
+            out.writeInt(column.get(i));
+        }
+    }
+
+    private static StringTable readTable(ByteBuffer buffer) {
+        int charCount = buffer.getInt();
+        int size = buffer.getInt();
+        CharBuffer chars = slice(buffer, charCount * 2).asCharBuffer();
+        if (charCount % 2 != 0) {
+            buffer.getChar();
+        }
+        IntBuffer offsets = slice(buffer, (size + 1) * 4).asIntBuffer();
+        return new StringTable(chars, offsets);
+    }
+
+    private static IntBuffer readColumn(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        return slice(buffer, length * 4).asIntBuffer();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+}
@@ -18,7 +18,8 @@ public class Dictionary {
     private static final String FILE_PATH_FORMAT =
             "/%s/dictionaries/dictionary.dic";
 
-    private Map<String, HashSet<DELAFEntry>> dictionary;
+    // shared main and custom dictionaries, with the changes of this instance
+    private DictionaryOverlay entries;
 
     private final Locale locale;
 
@@ -29,22 +30,16 @@ public Dictionary(Locale locale) throws DictionaryException {
 
     private void load() throws DictionaryException {
         try {
-            dictionary = ResourceLoader
-                    .readDictionaryEntries(String.format(FILE_PATH_FORMAT, locale));
-
             String[] customDicts = Config.getInstance(locale)
                     .getCustomDictionaries();
-            for (String customDictPath: customDicts) {
-                Map<String, HashSet<DELAFEntry>> customEntries = ResourceLoader
-                        .readDictionaryEntries(customDictPath);
-                for (String key: customEntries.keySet()) {
-                    if (dictionary.containsKey(key)) {
-                        dictionary.get(key).addAll(customEntries.get(key));
-                    } else {
-                        dictionary.put(key, customEntries.get(key));
-                    }
-                }
+            CompactDictionary[] layers = new CompactDictionary[customDicts.length + 1];
+            layers[0] = ResourceLoader.readCompactDictionary(
+                    String.format(FILE_PATH_FORMAT, locale));
+            for (int i = 0; i < customDicts.length; i++) {
+                layers[i + 1] = ResourceLoader.readCompactDictionary(customDicts[i]);
             }
+
+            entries = new DictionaryOverlay(layers);
         } catch (ConfigException | ResourceLoadingException e) {
             throw new DictionaryException("Failed to load the dictionary", e);
         }
@@ -58,8 +53,8 @@ private void load() throws DictionaryException {
      * @return {@link DictionaryEntry[]} removed entries.
      */
     public DELAFEntry[] remove(String inflectedForm) {
-        HashSet<DELAFEntry> removedEntries = dictionary.remove(inflectedForm);
-        if (removedEntries != null) {
+        Set<DELAFEntry> removedEntries = entries.remove(inflectedForm);
+        if (!removedEntries.isEmpty()) {
             return removedEntries.toArray(new DELAFEntry[0]);
         }
         return null;
@@ -75,27 +70,10 @@ public DELAFEntry[] remove(String inflectedForm) {
      * @return {@link DELAFEntry[]} removed entries.
      */
     public DELAFEntry[] remove(String inflectedForm, String posTag) {
-        HashSet<DELAFEntry> entrySet = dictionary.remove(inflectedForm);
-        HashSet<DELAFEntry> remainingEntries = new HashSet<>();
-        HashSet<DELAFEntry> removedEntries = new HashSet<>();
-
-        for (DELAFEntry entry : entrySet) {
-            if (entry.getWord().equals(inflectedForm)
-                    && entry.getPos().equals(posTag)) {
-                removedEntries.add(entry);
-            } else {
-                remainingEntries.add(entry);
-            }
-        }
-
-        if (remainingEntries.size() > 0) {
-            dictionary.put(inflectedForm, remainingEntries);
-        }
-
-        if (removedEntries.size() > 0) {
+        Set<DELAFEntry> removedEntries = entries.remove(inflectedForm, posTag);
+        if (!removedEntries.isEmpty()) {
             return removedEntries.toArray(new DELAFEntry[0]);
         }
-
         return null;
     }
 
@@ -106,14 +84,8 @@ public DELAFEntry[] remove(String inflectedForm, String posTag) {
      * @return {@link DELAFEntry} removed entry
      */
     public DELAFEntry remove(DELAFEntry entry) {
-        HashSet<DELAFEntry> entrySet = dictionary.get(entry.getWord());
-        if (entrySet != null) {
-            entrySet.remove(entry);
-            if (entrySet.size() > 0) {
-                dictionary.put(entry.getWord(), entrySet);
-            } else {
-                dictionary.remove(entry.getWord());
-            }
+        if (contains(entry.getWord())) {
+            entries.remove(entry);
             return entry;
         }
         return null;
@@ -128,7 +100,7 @@ public DELAFEntry remove(DELAFEntry entry) {
      *                         otherwise
      */
     public boolean contains(String inflectedForm) {
-        return dictionary.containsKey(inflectedForm);
+        return entries.contains(inflectedForm);
     }
 
     /**
@@ -142,15 +114,7 @@ public boolean contains(String inflectedForm) {
      *                         otherwise
      */
     public boolean contains(String inflectedForm, String posTag) {
-        if (contains(inflectedForm)) {
-            HashSet<DELAFEntry> entrySet = dictionary.get(inflectedForm);
-            for (DELAFEntry entry : entrySet) {
-                if (entry.getPos().equals(posTag)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return entries.contains(inflectedForm, posTag);
     }
 
     /**
@@ -161,11 +125,7 @@ public boolean contains(String inflectedForm, String posTag) {
      *                         otherwise
      */
     public boolean contains(DELAFEntry entry) {
-        if (contains(entry.getWord())) {
-            HashSet<DELAFEntry> entrySet = dictionary.get(entry.getWord());
-            return entrySet.contains(entry);
-        }
-        return false;
+        return entries.contains(entry);
     }
 
     /**
@@ -178,14 +138,7 @@ public boolean contains(DELAFEntry entry) {
      * @return {@code String[]} lemmas to retrieve.
      */
     public String[] retrieveLemmas(String inflectedForm, String posTag) {
-        HashSet<DELAFEntry> entrySet = dictionary.get(inflectedForm);
-        HashSet<String> lemmas = new HashSet<>();
-        for (DELAFEntry entry : entrySet) {
-            if (entry.getPos().equals(posTag)) {
-                lemmas.add(entry.getLemma());
-            }
-        }
-        return lemmas.toArray(new String[0]);
+        return entries.lemmas(inflectedForm, posTag).toArray(new String[0]);
     }
 
     /**
@@ -196,11 +149,7 @@ public String[] retrieveLemmas(String inflectedForm, String posTag) {
      * @return {@code DELAFEntry[]} matching entries.
      */
     public DELAFEntry[] retrieveEntries(String inflectedForm) {
-        HashSet<DELAFEntry> entries = new HashSet<>();
-        if (dictionary.containsKey(inflectedForm)) {
-            entries = dictionary.get(inflectedForm);
-        }
-        return entries.toArray(new DELAFEntry[0]);
+        return entries.entries(inflectedForm).toArray(new DELAFEntry[0]);
     }
 
     /**
@@ -209,12 +158,7 @@ public DELAFEntry[] retrieveEntries(String inflectedForm) {
      * @return {@code DictionaryEntry[]} dictionary entries.
      */
     public DELAFEntry[] retrieveAllEntries() {
-        HashSet<DELAFEntry> entries = new HashSet<>();
-        Collection<HashSet<DELAFEntry>> entryCollection = dictionary.values();
-        for (HashSet<DELAFEntry> entrySet : entryCollection) {
-            entries.addAll(entrySet);
-        }
-        return entries.toArray(new DELAFEntry[0]);
+        return entries.allEntries().toArray(new DELAFEntry[0]);
     }
 
     /**
@@ -223,7 +167,7 @@ public DELAFEntry[] retrieveAllEntries() {
      * @return {@link Lexicon} lexicon from dictionary
      */
     public Lexicon retrieveLexicon() {
-        return Lexicon.fromDictionaryMap(dictionary);
+        return entries.lexicon();
     }
 
     /**
@@ -232,6 +176,6 @@ public Lexicon retrieveLexicon() {
      * @return size of the lexicon
      */
     public int size() {
-        return dictionary.size();
+        return entries.size();
     }
 }
@@ -0,0 +1,101 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.Config;
+import pt.up.hs.linguini.exceptions.ConfigException;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Offline compiler of DELAF dictionaries into the binary format mapped by
+ * {@link MappedDELAFDataSource}.
+ *
+ * Usage: {@code DictionaryCompiler <locale> <output> [dictionary...]}.
+ * Without dictionaries, the main dictionary of the locale and the custom
+ * dictionaries in its configuration are compiled. Dictionaries are read from
+ * the filesystem, or from the classpath if there is no such file.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class DictionaryCompiler {
+    private static final Logger LOG = Logger.getLogger(DictionaryCompiler.class.getName());
+
+    private static final String FILE_PATH_FORMAT =
+            "/%s/dictionaries/dictionary.dic";
+
+    private DictionaryCompiler() {
+    }
+
+    /**
+     * Compile the main and custom dictionaries of a locale.
+     *
+     * @param locale {@link Locale} the locale
+     * @param output {@link Path} compiled dictionary file
+     * @return {@link CompactDictionary} compiled dictionary
+     * @throws ConfigException          if the configuration cannot be read
+     * @throws ResourceLoadingException if a dictionary cannot be read
+     * @throws IOException              if the output cannot be written
+     */
+    public static CompactDictionary compile(Locale locale, Path output)
+            throws ConfigException, ResourceLoadingException, IOException {
+        String[] customDicts = Config.getInstance(locale).getCustomDictionaries();
+        String[] paths = new String[customDicts.length + 1];
+        paths[0] = String.format(FILE_PATH_FORMAT, locale);
+        System.arraycopy(customDicts, 0, paths, 1, customDicts.length);
+        return compile(output, paths);
+    }
+
+    /**
+     * Compile dictionaries into a single file.
+     *
+     * @param output {@link Path} compiled dictionary file
+     * @param paths  {@link String} paths of the dictionaries
+     * @return {@link CompactDictionary} compiled dictionary
+     * @throws ResourceLoadingException if a dictionary cannot be read
+     * @throws IOException              if the output cannot be written
+     */
+    public static CompactDictionary compile(Path output, String... paths)
+            throws ResourceLoadingException, IOException {
+        CompactDictionary.Builder builder = new CompactDictionary.Builder();
+        for (String path: paths) {
+            Path file = Paths.get(path);
+            try (InputStream is = Files.isRegularFile(file)
+                    ? Files.newInputStream(file)
+                    : DictionaryCompiler.class.getResourceAsStream(path)) {
+                ResourceLoader.readDictionaryEntries(is, builder);
+            }
+        }
+        CompactDictionary dictionary = builder.build();
+        dictionary.write(output);
+        return dictionary;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: DictionaryCompiler <locale> <output> [dictionary...]");
+            System.exit(1);
+        }
+        Locale locale = Locale.forLanguageTag(args[0].replace('_', '-'));
+        Path output = Paths.get(args[1]);
+
+        long start = System.nanoTime();
+        CompactDictionary dictionary;
+        if (args.length > 2) {
+            String[] paths = new String[args.length - 2];
+            System.arraycopy(args, 2, paths, 0, paths.length);
+            dictionary = compile(output, paths);
+        } else {
+            dictionary = compile(locale, output);
+        }
+        LOG.info(String.format("Compiled %d forms (%d entries) into %s in %d ms",
+                dictionary.size(), dictionary.entryCount(), output,
+                (System.nanoTime() - start) / 1000000));
+    }
+}
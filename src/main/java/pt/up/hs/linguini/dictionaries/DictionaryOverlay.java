@@ -0,0 +1,266 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.data.DELAFEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copy-on-write view of shared, read-only dictionary layers (e.g., the main
+ * dictionary and the custom dictionaries of a locale). The entries of a
+ * form are those of every layer. Changes are kept in the overlay, for the
+ * forms they touch, and lookups check the overlay first, so layers are
+ * never modified and can be shared by any number of overlays.
+ *
+ * Not thread-safe.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class DictionaryOverlay {
+
+    // shared, read-only layers
+    private final CompactDictionary[] layers;
+
+    // number of distinct forms in the layers (-1 until first needed)
+    private int layersSize = -1;
+
+    // entries of forms changed in this overlay (empty if removed)
+    private final Map<String, HashSet<DELAFEntry>> changes = new HashMap<>();
+
+    DictionaryOverlay(CompactDictionary... layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Count the distinct forms of the layers. Forms of a layer are only
+     * decoded if there are several layers, to check the previous ones.
+     *
+     * @return {@code int} number of distinct forms in the layers
+     */
+    private int layersSize() {
+        if (layersSize < 0) {
+            int size = layers.length == 0 ? 0 : layers[0].size();
+            for (int i = 1; i < layers.length; i++) {
+                for (int form = 0; form < layers[i].size(); form++) {
+                    if (!inLayers(layers[i].forms.get(form), i)) {
+                        size++;
+                    }
+                }
+            }
+            layersSize = size;
+        }
+        return layersSize;
+    }
+
+    private boolean inLayers(String word, int count) {
+        for (int i = 0; i < count; i++) {
+            if (layers[i].contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HashSet<DELAFEntry> layerEntries(String word) {
+        HashSet<DELAFEntry> entries = new HashSet<>();
+        for (CompactDictionary layer : layers) {
+            entries.addAll(layer.getEntries(word));
+        }
+        return entries;
+    }
+
+    private HashSet<DELAFEntry> change(String word) {
+        return changes.computeIfAbsent(word, this::layerEntries);
+    }
+
+    /**
+     * Get the entries of an inflected form.
+     *
+     * @param word {@link String} inflected form
+     * @return {@link Set} entries of the inflected form (a copy, unless the
+     *      form was changed)
+     */
+    Set<DELAFEntry> entries(String word) {
+        HashSet<DELAFEntry> changed = changes.get(word);
+        if (changed != null) {
+            return changed;
+        }
+        return layerEntries(word);
+    }
+
+    void add(DELAFEntry entry) {
+        change(entry.getWord()).add(entry);
+    }
+
+    /**
+     * Remove the entries of an inflected form.
+     *
+     * @param word {@link String} inflected form
+     * @return {@link Set} removed entries (empty if there were none)
+     */
+    Set<DELAFEntry> remove(String word) {
+        HashSet<DELAFEntry> entries = change(word);
+        Set<DELAFEntry> removed = new HashSet<>(entries);
+        entries.clear();
+        return removed;
+    }
+
+    /**
+     * Remove the entries of an inflected form with a PoS tag.
+     *
+     * @param word   {@link String} inflected form
+     * @param posTag {@link String} PoS tag
+     * @return {@link Set} removed entries (empty if there were none)
+     */
+    Set<DELAFEntry> remove(String word, String posTag) {
+        Set<DELAFEntry> removed = new HashSet<>();
+        if (!contains(word, posTag)) {
+            return removed;
+        }
+        HashSet<DELAFEntry> entries = change(word);
+        for (DELAFEntry entry : entries) {
+            if (entry.getPos().equals(posTag)) {
+                removed.add(entry);
+            }
+        }
+        entries.removeAll(removed);
+        return removed;
+    }
+
+    boolean remove(DELAFEntry entry) {
+        return change(entry.getWord()).remove(entry);
+    }
+
+    boolean contains(String word) {
+        HashSet<DELAFEntry> changed = changes.get(word);
+        if (changed != null) {
+            return !changed.isEmpty();
+        }
+        return inLayers(word, layers.length);
+    }
+
+    boolean contains(String word, String posTag) {
+        HashSet<DELAFEntry> changed = changes.get(word);
+        if (changed != null) {
+            for (DELAFEntry entry : changed) {
+                if (entry.getPos().equals(posTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (CompactDictionary layer : layers) {
+            if (layer.contains(word, posTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean contains(DELAFEntry entry) {
+        HashSet<DELAFEntry> changed = changes.get(entry.getWord());
+        if (changed != null) {
+            return changed.contains(entry);
+        }
+        for (CompactDictionary layer : layers) {
+            if (layer.contains(entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the distinct lemmas of an inflected form with a PoS tag.
+     *
+     * @param word   {@link String} inflected form
+     * @param posTag {@link String} PoS tag
+     * @return {@link Set} lemmas of the inflected form
+     */
+    Set<String> lemmas(String word, String posTag) {
+        HashSet<DELAFEntry> changed = changes.get(word);
+        if (changed != null) {
+            Set<String> lemmas = new LinkedHashSet<>();
+            for (DELAFEntry entry : changed) {
+                if (entry.getPos().equals(posTag)) {
+                    lemmas.add(entry.getLemma());
+                }
+            }
+            return lemmas;
+        }
+        if (layers.length == 1) {
+            return layers[0].getLemmas(word, posTag);
+        }
+        Set<String> lemmas = new LinkedHashSet<>();
+        for (CompactDictionary layer : layers) {
+            lemmas.addAll(layer.getLemmas(word, posTag));
+        }
+        return lemmas;
+    }
+
+    /**
+     * Get all the entries.
+     *
+     * @return {@link Collection} all the entries, without duplicates
+     */
+    Collection<DELAFEntry> allEntries() {
+        Collection<DELAFEntry> entries = layers.length == 1
+                ? new ArrayList<>()
+                : new LinkedHashSet<>();
+        for (CompactDictionary layer : layers) {
+            for (DELAFEntry entry : layer.getAllEntries()) {
+                if (!changes.containsKey(entry.getWord())) {
+                    entries.add(entry);
+                }
+            }
+        }
+        for (HashSet<DELAFEntry> entrySet : changes.values()) {
+            entries.addAll(entrySet);
+        }
+        return entries;
+    }
+
+    /**
+     * Get the lexicon of the entries. Unless some form was changed, the
+     * index of lemmas of the first layer is shared and the other layers are
+     * added to it.
+     *
+     * @return {@link Lexicon} lexicon of the entries
+     */
+    Lexicon lexicon() {
+        if (!changes.isEmpty() || layers.length == 0) {
+            return Lexicon.fromEntries(allEntries());
+        }
+        Lexicon lexicon = Lexicon.fromCompactDictionary(layers[0]);
+        for (int i = 1; i < layers.length; i++) {
+            CompactDictionary layer = layers[i];
+            layer.forEachLemmaTag((lemma, tag) ->
+                    lexicon.add(layer.lemma(lemma), layer.tag(tag)));
+        }
+        return lexicon;
+    }
+
+    /**
+     * Get the number of inflected forms.
+     *
+     * @return {@code int} number of inflected forms
+     */
+    int size() {
+        int size = layersSize();
+        for (Map.Entry<String, HashSet<DELAFEntry>> change : changes.entrySet()) {
+            boolean inLayers = inLayers(change.getKey(), layers.length);
+            boolean inChange = !change.getValue().isEmpty();
+            if (inLayers && !inChange) {
+                size--;
+            } else if (!inLayers && inChange) {
+                size++;
+            }
+        }
+        return size;
+    }
+}
@@ -2,32 +2,47 @@
 
 import pt.up.hs.linguini.data.DELAFEntry;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * Lexicon.
+ * Lexicon. The lemmas and PoS tags of a dictionary are kept in a shared,
+ * read-only index, and changes made to a lexicon are kept aside, per lemma.
  *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class Lexicon {
 
-    private final HashMap<String, HashSet<String>> lexicon =
-            new HashMap<>();
+    // shared, read-only lemmas and PoS tags
+    private final LexiconIndex index;
 
-    private Lexicon() {
+    // PoS tags of lemmas changed in this instance (empty if removed)
+    private final Map<String, HashSet<String>> changes = new HashMap<>();
+
+    private Lexicon(LexiconIndex index) {
+        this.index = index;
     }
 
     public static Lexicon fromDictionaryMap(Map<String, HashSet<DELAFEntry>> dict) {
-        Lexicon lexicon = new Lexicon();
-        for (String form : dict.keySet()) {
-            for (DELAFEntry entry : dict.get(form)) {
-                lexicon.add(entry.getLemma(), entry.getPos());
-            }
-        }
-        return lexicon;
+        return new Lexicon(LexiconIndex.of(
+                dict.values().stream().flatMap(Set::stream)::iterator));
+    }
+
+    public static Lexicon fromEntries(Iterable<DELAFEntry> entries) {
+        return new Lexicon(LexiconIndex.of(entries));
+    }
+
+    public static Lexicon fromCompactDictionary(CompactDictionary dict) {
+        return new Lexicon(dict.lexiconIndex());
+    }
+
+    private HashSet<String> change(String lemma) {
+        return changes.computeIfAbsent(lemma,
+                l -> new HashSet<>(index.tags(l)));
     }
 
     /**
@@ -37,12 +52,7 @@ public static Lexicon fromDictionaryMap(Map<String, HashSet<DELAFEntry>> dict) {
      * @param posTag {@link String} Part-Of-Speech tag of the lexicon.
      */
     public void add(String lemma, String posTag) {
-        HashSet<String> entrySet = lexicon.get(lemma);
-        if (entrySet == null) {
-            entrySet = new HashSet<>();
-        }
-        entrySet.add(posTag);
-        lexicon.put(lemma, entrySet);
+        change(lemma).add(posTag);
     }
 
     /**
@@ -52,9 +62,11 @@ public void add(String lemma, String posTag) {
      * @return {@link String[]} removed entries.
      */
     public String[] remove(String lemma) {
-        HashSet<String> removedEntries = lexicon.remove(lemma);
-        if (removedEntries != null) {
-            return removedEntries.toArray(new String[0]);
+        HashSet<String> posTagSet = change(lemma);
+        if (!posTagSet.isEmpty()) {
+            String[] removedEntries = posTagSet.toArray(new String[0]);
+            posTagSet.clear();
+            return removedEntries;
         }
         return null;
     }
@@ -68,17 +80,8 @@ public String[] remove(String lemma) {
      * @return {@link String} removed entry.
      */
     public String remove(String lemma, String posTag) {
-        HashSet<String> posTagSet = lexicon.remove(lemma);
-        HashSet<String> remainingPoSTags = new HashSet<>();
-        if (posTagSet != null) {
-            for (String pos : posTagSet) {
-                if (!pos.equals(posTag)) {
-                    remainingPoSTags.add(pos);
-                }
-            }
-            if (remainingPoSTags.size() > 0) {
-                lexicon.put(lemma, remainingPoSTags);
-            }
+        if (contains(lemma)) {
+            change(lemma).remove(posTag);
             return posTag;
         }
         return null;
@@ -92,7 +95,11 @@ public String remove(String lemma, String posTag) {
      *                         otherwise
      */
     public boolean contains(String lemma) {
-        return lexicon.containsKey(lemma);
+        HashSet<String> changed = changes.get(lemma);
+        if (changed != null) {
+            return !changed.isEmpty();
+        }
+        return index.contains(lemma);
     }
 
     /**
@@ -105,15 +112,11 @@ public boolean contains(String lemma) {
      *                         otherwise
      */
     public boolean contains(String lemma, String posTag) {
-        if (contains(lemma)) {
-            HashSet<String> entrySet = lexicon.get(lemma);
-            for (String entry : entrySet) {
-                if (entry.equals(posTag)) {
-                    return true;
-                }
-            }
+        HashSet<String> changed = changes.get(lemma);
+        if (changed != null) {
+            return changed.contains(posTag);
         }
-        return false;
+        return index.contains(lemma, posTag);
     }
 
     /**
@@ -124,11 +127,16 @@ public boolean contains(String lemma, String posTag) {
      * @return {@code String[]} matching entries.
      */
     public String[] retrieveLemmas(String posTag) {
-        HashSet<String> lexemes = new HashSet<>();
-        Set<Map.Entry<String, HashSet<String>>> entrySet = lexicon.entrySet();
-        for (Map.Entry<String, HashSet<String>> entry : entrySet) {
-            if (entry.getValue().contains(posTag)) {
-                lexemes.add(entry.getKey());
+        List<String> lexemes = new ArrayList<>();
+        for (int id : index.lemmas(posTag)) {
+            String lemma = index.lemma(id);
+            if (!changes.containsKey(lemma)) {
+                lexemes.add(lemma);
+            }
+        }
+        for (Map.Entry<String, HashSet<String>> change : changes.entrySet()) {
+            if (change.getValue().contains(posTag)) {
+                lexemes.add(change.getKey());
             }
         }
         return lexemes.toArray(new String[0]);
@@ -141,14 +149,11 @@ public String[] retrieveLemmas(String posTag) {
      * @return {@code String[]} matching entries.
      */
     public String[] retrievePoSTags(String lemma) {
-        HashSet<String> posTags = new HashSet<>();
-        Set<Map.Entry<String, HashSet<String>>> entrySet = lexicon.entrySet();
-        for (Map.Entry<String, HashSet<String>> entry : entrySet) {
-            if (entry.getKey().equals(lemma)) {
-                posTags.addAll(entry.getValue());
-            }
+        HashSet<String> changed = changes.get(lemma);
+        if (changed != null) {
+            return changed.toArray(new String[0]);
         }
-        return posTags.toArray(new String[0]);
+        return index.tags(lemma).toArray(new String[0]);
     }
 
     /**
@@ -157,6 +162,16 @@ public String[] retrievePoSTags(String lemma) {
      * @return size of the lexicon
      */
     public int size() {
-        return lexicon.size();
+        int size = index.size();
+        for (Map.Entry<String, HashSet<String>> change : changes.entrySet()) {
+            boolean inIndex = index.contains(change.getKey());
+            boolean inChange = !change.getValue().isEmpty();
+            if (inIndex && !inChange) {
+                size--;
+            } else if (!inIndex && inChange) {
+                size++;
+            }
+        }
+        return size;
     }
 }
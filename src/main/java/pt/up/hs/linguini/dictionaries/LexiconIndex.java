@@ -0,0 +1,190 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.data.DELAFEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only index of the lemmas and PoS tags of a dictionary. The PoS tags
+ * of each lemma are a bitmask, so checking whether a lemma has a tag is a
+ * single bit test, and the lemmas of each PoS tag are kept in a posting
+ * list, so retrieving them costs the size of the result.
+ *
+ * Instances are immutable and can be shared by any number of threads.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class LexiconIndex {
+    private static final int[] NO_LEMMAS = new int[0];
+
+    private final String[] lemmas;
+    private final Map<String, Integer> lemmaIds;
+    private final String[] tags;
+    private final Map<String, Integer> tagIds;
+
+    // PoS tags of lemma i are the bits of masks[i * words] to
+    // masks[i * words + words - 1]
+    private final int words;
+    private final long[] masks;
+
+    // ids of the lemmas of each PoS tag, in ascending order
+    private final int[][] postings;
+
+    private LexiconIndex(String[] lemmas, String[] tags, long[] masks) {
+        this.lemmas = lemmas;
+        this.tags = tags;
+        this.words = words(tags.length);
+        this.masks = masks;
+
+        lemmaIds = new HashMap<>(lemmas.length * 4 / 3 + 1);
+        for (int i = 0; i < lemmas.length; i++) {
+            lemmaIds.put(lemmas[i], i);
+        }
+        tagIds = new HashMap<>();
+        for (int i = 0; i < tags.length; i++) {
+            tagIds.put(tags[i], i);
+        }
+
+        int[] counts = new int[tags.length];
+        for (int lemma = 0; lemma < lemmas.length; lemma++) {
+            for (int tag = 0; tag < tags.length; tag++) {
+                if (has(lemma, tag)) {
+                    counts[tag]++;
+                }
+            }
+        }
+        postings = new int[tags.length][];
+        for (int tag = 0; tag < tags.length; tag++) {
+            postings[tag] = new int[counts[tag]];
+            counts[tag] = 0;
+        }
+        for (int lemma = 0; lemma < lemmas.length; lemma++) {
+            for (int tag = 0; tag < tags.length; tag++) {
+                if (has(lemma, tag)) {
+                    postings[tag][counts[tag]++] = lemma;
+                }
+            }
+        }
+    }
+
+    /**
+     * Index the lemmas and PoS tags of a compact dictionary.
+     *
+     * @param dictionary {@link CompactDictionary} the dictionary
+     * @return {@link LexiconIndex} index of the dictionary
+     */
+    static LexiconIndex of(CompactDictionary dictionary) {
+        String[] lemmas = new String[dictionary.lemmaCount()];
+        for (int i = 0; i < lemmas.length; i++) {
+            lemmas[i] = dictionary.lemma(i);
+        }
+        String[] tags = new String[dictionary.tagCount()];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = dictionary.tag(i);
+        }
+        int words = words(tags.length);
+        long[] masks = new long[lemmas.length * words];
+        dictionary.forEachLemmaTag((lemma, tag) ->
+                masks[lemma * words + (tag >>> 6)] |= 1L << tag);
+        return new LexiconIndex(lemmas, tags, masks);
+    }
+
+    /**
+     * Index the lemmas and PoS tags of some entries.
+     *
+     * @param entries {@link Iterable} the entries
+     * @return {@link LexiconIndex} index of the entries
+     */
+    static LexiconIndex of(Iterable<DELAFEntry> entries) {
+        Map<String, Integer> lemmaIds = new HashMap<>();
+        Map<String, Integer> tagIds = new HashMap<>();
+        List<String> lemmas = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        List<int[]> pairs = new ArrayList<>();
+        for (DELAFEntry entry : entries) {
+            pairs.add(new int[] {
+                    intern(entry.getLemma(), lemmaIds, lemmas),
+                    intern(entry.getPos(), tagIds, tags)
+            });
+        }
+        int words = words(tags.size());
+        long[] masks = new long[lemmas.size() * words];
+        for (int[] pair : pairs) {
+            masks[pair[0] * words + (pair[1] >>> 6)] |= 1L << pair[1];
+        }
+        return new LexiconIndex(
+                lemmas.toArray(new String[0]), tags.toArray(new String[0]), masks);
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<String> strings) {
+        Integer id = ids.putIfAbsent(s, strings.size());
+        if (id == null) {
+            strings.add(s);
+            return strings.size() - 1;
+        }
+        return id;
+    }
+
+    private static int words(int tagCount) {
+        return Math.max(1, (tagCount + 63) >>> 6);
+    }
+
+    private boolean has(int lemma, int tag) {
+        return (masks[lemma * words + (tag >>> 6)] & (1L << tag)) != 0;
+    }
+
+    int size() {
+        return lemmas.length;
+    }
+
+    boolean contains(String lemma) {
+        return lemmaIds.containsKey(lemma);
+    }
+
+    boolean contains(String lemma, String tag) {
+        Integer lemmaId = lemmaIds.get(lemma);
+        Integer tagId = tagIds.get(tag);
+        return lemmaId != null && tagId != null && has(lemmaId, tagId);
+    }
+
+    /**
+     * Get the PoS tags of a lemma.
+     *
+     * @param lemma {@link String} the lemma
+     * @return {@link List} PoS tags of the lemma (empty if it is absent)
+     */
+    List<String> tags(String lemma) {
+        Integer lemmaId = lemmaIds.get(lemma);
+        List<String> result = new ArrayList<>();
+        if (lemmaId == null) {
+            return result;
+        }
+        for (int w = 0; w < words; w++) {
+            long mask = masks[lemmaId * words + w];
+            while (mask != 0) {
+                result.add(tags[(w << 6) + Long.numberOfTrailingZeros(mask)]);
+                mask &= mask - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the ids of the lemmas with a PoS tag.
+     *
+     * @param tag {@link String} the PoS tag
+     * @return {@code int[]} ids of the lemmas with the PoS tag, in ascending
+     *      order (must not be modified)
+     */
+    int[] lemmas(String tag) {
+        Integer tagId = tagIds.get(tag);
+        return tagId == null ? NO_LEMMAS : postings[tagId];
+    }
+
+    String lemma(int id) {
+        return lemmas[id];
+    }
+}
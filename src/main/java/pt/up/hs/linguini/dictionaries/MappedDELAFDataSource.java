@@ -0,0 +1,31 @@
+package pt.up.hs.linguini.dictionaries;
+
+import pt.up.hs.linguini.dictionaries.exceptions.DictionaryException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * DELAF data source that maps a dictionary compiled by
+ * {@link DictionaryCompiler} in memory. Opening it does not parse anything,
+ * and every JVM on the host mapping the same file shares its pages.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class MappedDELAFDataSource extends CompactDELAFDataSource {
+
+    protected final Path file;
+
+    public MappedDELAFDataSource(Path file) throws DictionaryException {
+        super(map(file));
+        this.file = file;
+    }
+
+    private static CompactDictionary map(Path file) throws DictionaryException {
+        try {
+            return CompactDictionary.map(file);
+        } catch (IOException e) {
+            throw new DictionaryException("Failed to map the dictionary " + file, e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package pt.up.hs.linguini.dictionaries;
+
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Table of strings stored back to back in a single char buffer, with the
+ * offset of each string in an int buffer. Strings in a sorted table can be
+ * searched without creating any object.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+class StringTable {
+
+    private final CharBuffer chars;
+    private final IntBuffer offsets;
+
+    StringTable(CharBuffer chars, IntBuffer offsets) {
+        this.chars = chars;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Create a table with the given strings, in the given order.
+     *
+     * @param strings {@code String[]} strings of the table
+     * @return {@link StringTable} the table
+     */
+    static StringTable of(String[] strings) {
+        int length = 0;
+        for (String s: strings) {
+            length += s.length();
+        }
+        char[] chars = new char[length];
+        int[] offsets = new int[strings.length + 1];
+        int offset = 0;
+        for (int i = 0; i < strings.length; i++) {
+            strings[i].getChars(0, strings[i].length(), chars, offset);
+            offset += strings[i].length();
+            offsets[i + 1] = offset;
+        }
+        return new StringTable(CharBuffer.wrap(chars), IntBuffer.wrap(offsets));
+    }
+
+    int size() {
+        return offsets.limit() - 1;
+    }
+
+    String get(int i) {
+        int start = offsets.get(i);
+        int end = offsets.get(i + 1);
+        char[] value = new char[end - start];
+        for (int j = 0; j < value.length; j++) {
+            value[j] = chars.get(start + j);
+        }
+        return new String(value);
+    }
+
+    /**
+     * Find a string in a table sorted by {@link String#compareTo(String)}.
+     *
+     * @param s {@link String} string to find
+     * @return {@code int} index of the string, or -1 if it is absent
+     */
+    int indexOf(String s) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compare(middle, s);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int i, String s) {
+        int start = offsets.get(i);
+        int length = offsets.get(i + 1) - start;
+        int n = Math.min(length, s.length());
+        for (int j = 0; j < n; j++) {
+            char c = chars.get(start + j);
+            char d = s.charAt(j);
+            if (c != d) {
+                return c - d;
+            }
+        }
+        return length - s.length();
+    }
+
+    CharBuffer chars() {
+        return chars;
+    }
+
+    IntBuffer offsets() {
+        return offsets;
+    }
+}
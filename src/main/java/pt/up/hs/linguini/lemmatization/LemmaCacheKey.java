@@ -3,7 +3,9 @@
 import java.util.Objects;
 
 /**
- * Cache key for lemmas.
+ * Cache key for lemmas. The generation of the resources used to find the
+ * lemma is part of the key, so lemmas found before the resources were
+ * reloaded are never returned after.
  *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
@@ -11,10 +13,16 @@ public class LemmaCacheKey {
 
     private String token;
     private String tag;
+    private long generation;
 
     public LemmaCacheKey(String token, String tag) {
+        this(token, tag, 0);
+    }
+
+    public LemmaCacheKey(String token, String tag, long generation) {
         this.token = token;
         this.tag = tag;
+        this.generation = generation;
     }
 
     public String getToken() {
@@ -33,17 +41,26 @@ public void setTag(String tag) {
         this.tag = tag;
     }
 
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof LemmaCacheKey)) return false;
         LemmaCacheKey that = (LemmaCacheKey) o;
-        return token.equals(that.token) &&
+        return generation == that.generation &&
+                token.equals(that.token) &&
                 tag.equals(that.tag);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(token, tag);
+        return Objects.hash(token, tag, generation);
     }
 }
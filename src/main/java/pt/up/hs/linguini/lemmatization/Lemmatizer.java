@@ -1,6 +1,7 @@
 package pt.up.hs.linguini.lemmatization;
 
 import pt.up.hs.linguini.Config;
+import pt.up.hs.linguini.caching.CacheStats;
 import pt.up.hs.linguini.caching.InMemoryCache;
 import pt.up.hs.linguini.dictionaries.Dictionary;
 import pt.up.hs.linguini.dictionaries.Lexicon;
@@ -13,12 +14,28 @@
 import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
 import pt.up.hs.linguini.pipeline.Step;
 import pt.up.hs.linguini.ranking.WordRanking;
+import pt.up.hs.linguini.resources.ResourceListener;
+import pt.up.hs.linguini.resources.ResourceLoader;
 import pt.up.hs.linguini.ranking.exceptions.WordRankingException;
 import pt.up.hs.linguini.transformation.LowercaseTokenTransformer;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Convert a word to its lemma form.
@@ -36,8 +53,29 @@ public class Lemmatizer implements Step<AnnotatedToken<String>, AnnotatedToken<S
     private static final int VERB = 128;               // Binary 10000000
     private static final int ALL = 255;                // Binary 11111111
 
-    private static final InMemoryCache<LemmaCacheKey, String> cache =
-            new InMemoryCache<>(86400, 3600, 20);
+    private static final long CACHE_CLEANUP_INTERVAL = 3600;
+    private static final String SNAPSHOT_SEPARATOR = "\t";
+
+    private static final Logger LOG = Logger.getLogger(Lemmatizer.class.getName());
+
+    private static final Map<String, InMemoryCache<LemmaCacheKey, String>> sharedCaches =
+            new ConcurrentHashMap<>();
+
+    // resources of each locale, shared by the lemmatizers of the locale
+    private static final Map<Locale, WeakReference<SharedResources>> sharedResources =
+            new HashMap<>();
+
+    // generation of the last resources loaded
+    private static final AtomicLong generations = new AtomicLong();
+
+    // kept here, as the resource loader only references it weakly
+    private static final ResourceListener reloader = Lemmatizer::reload;
+
+    static {
+        ResourceLoader.addResourceListener(reloader);
+    }
+
+    private InMemoryCache<LemmaCacheKey, String> cache;
 
     private final Locale locale;
 
@@ -47,26 +85,8 @@ public class Lemmatizer implements Step<AnnotatedToken<String>, AnnotatedToken<S
     private int flags = 0;                            // Binary 000000000
 
     private LowercaseTokenTransformer<Token> lowercaseTokenNormalizer;
-    private AdverbTokenNormalizer adverbNormalizer;
-    private AugmentativeTokenNormalizer augmentativeNormalizer;
-    private DiminutiveTokenNormalizer diminutiveNormalizer;
-    private GenderTokenNormalizer genderNormalizer;
-    private GenderNameTokenNormalizer genderNameNormalizer;
-    private NumberTokenNormalizer numberNormalizer;
-    private SuperlativeTokenNormalizer superlativeNormalizer;
-    private VerbTokenNormalizer verbNormalizer;
-
-    private String augmentativeTags;
-    private String superlativeTags;
-    private String diminutiveTags;
-    private String genderTags;
-    private String genderNameTags;
-    private String numberTags;
-    private String adverbTags;
-    private String verbTags;
-
-    private Lexicon lexicon;
-    private Dictionary dictionary;
+
+    private SharedResources resources;
 
     private String dictionaryExclusions;
 
@@ -89,10 +109,33 @@ public Lemmatizer(Locale locale, int flags)
 
     public Lemmatizer(Locale locale, int flags, boolean breakOnHyphen, boolean breakOnUnderscore)
             throws LemmatizationException {
+        this(locale, flags, breakOnHyphen, breakOnUnderscore, null);
+    }
+
+    /**
+     * Create a lemmatizer with its own cache of lemmas. Without a cache,
+     * lemmatizers with the same settings share one, sized through
+     * {@link Config#getLemmaCacheSize()},
+     * {@link Config#getLemmaCacheTimeToLive()} and
+     * {@link Config#getLemmaCacheEvictionPolicy()}, and warm started from
+     * {@link Config#getLemmaCacheSnapshot()} (if any).
+     *
+     * @param locale            {@link Locale} locale of the lemmatizer
+     * @param flags             {@code int} normalizations to perform
+     * @param breakOnHyphen     {@code boolean} break words on hyphens?
+     * @param breakOnUnderscore {@code boolean} break words on underscores?
+     * @param cache             {@link InMemoryCache} cache of lemmas (or
+     *                          {@code null} to use the shared one)
+     * @throws LemmatizationException if the lemmatizer cannot be initialized
+     */
+    public Lemmatizer(Locale locale, int flags, boolean breakOnHyphen, boolean breakOnUnderscore,
+                      InMemoryCache<LemmaCacheKey, String> cache)
+            throws LemmatizationException {
         this.locale = locale;
         this.flags |= flags;
         this.breakOnHyphen = breakOnHyphen;
         this.breakOnUnderscore = breakOnUnderscore;
+        this.cache = cache;
 
         initialize();
     }
@@ -101,44 +144,8 @@ private void initialize() throws LemmatizationException {
 
         this.lowercaseTokenNormalizer = new LowercaseTokenTransformer<>();
 
-        // read normalizers' replacements
-        try {
-            this.adverbNormalizer = new AdverbTokenNormalizer(locale);
-            this.augmentativeNormalizer = new AugmentativeTokenNormalizer(locale);
-            this.diminutiveNormalizer = new DiminutiveTokenNormalizer(locale);
-            this.genderNormalizer = new GenderTokenNormalizer(locale);
-            this.genderNameNormalizer = new GenderNameTokenNormalizer(locale);
-            this.numberNormalizer = new NumberTokenNormalizer(locale);
-            this.superlativeNormalizer = new  SuperlativeTokenNormalizer(locale);
-            this.verbNormalizer = new VerbTokenNormalizer(locale);
-        } catch (NormalizationException e) {
-            throw new LemmatizationException(
-                    "Could not read normalizers' replacements", e);
-        }
-
-        // get replacements' tags
-        this.augmentativeTags =
-                augmentativeNormalizer.getReplacementsTagsString();
-        this.superlativeTags =
-                superlativeNormalizer.getReplacementsTagsString();
-        this.diminutiveTags =
-                diminutiveNormalizer.getReplacementsTagsString();
-        this.genderTags = genderNormalizer.getReplacementsTagsString();
-        this.genderNameTags = genderNameNormalizer.getReplacementsTagsString();
-        this.numberTags = numberNormalizer.getReplacementsTagsString();
-        this.adverbTags = adverbNormalizer.getReplacementsTagsString();
-        this.verbTags = verbNormalizer.getReplacementsTagsString();
-
-        // read dictionary
-        try {
-            this.dictionary = new Dictionary(locale);
-        } catch (DictionaryException e) {
-            throw new LemmatizationException(
-                    "Could not read dictionary", e);
-        }
-
-        // get lexicon
-        this.lexicon = dictionary.retrieveLexicon();
+        // read normalizers' replacements, dictionary and lexicon
+        this.resources = sharedResources(locale);
 
         // read word ranking
         try {
@@ -153,12 +160,160 @@ private void initialize() throws LemmatizationException {
             Config config = Config.getInstance(locale);
             this.dictionaryExclusions = config.getDictionaryExclusions();
             this.lexiconConversions = config.getLexicalConversions();
+            if (cache == null) {
+                initializeSharedCache(config);
+            }
         } catch (ConfigException e) {
             throw new LemmatizationException(
                     "Could not read configuration", e);
         }
     }
 
+    /**
+     * Get the resources of a locale, shared by every lemmatizer of the
+     * locale while any of them is in use.
+     *
+     * @param locale {@link Locale} the locale
+     * @return {@link SharedResources} resources of the locale
+     * @throws LemmatizationException if the resources cannot be loaded
+     */
+    private static SharedResources sharedResources(Locale locale)
+            throws LemmatizationException {
+        synchronized (sharedResources) {
+            WeakReference<SharedResources> ref = sharedResources.get(locale);
+            SharedResources shared = ref == null ? null : ref.get();
+            if (shared == null) {
+                shared = new SharedResources(new Resources(locale));
+                sharedResources.put(locale, new WeakReference<>(shared));
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Reload the replacements and dictionaries of the locales in use, if
+     * some of them changed. Resources are reloaded once per locale, and
+     * lemmatizations in progress finish with the previous ones. Lemmas
+     * cached before are no longer found, as they belong to the previous
+     * generation of resources.
+     *
+     * @param paths {@link Set} paths of the changed resources
+     */
+    private static void reload(Set<String> paths) {
+        Map<Locale, SharedResources> affected = new HashMap<>();
+        synchronized (sharedResources) {
+            Iterator<Map.Entry<Locale, WeakReference<SharedResources>>> itr =
+                    sharedResources.entrySet().iterator();
+            while (itr.hasNext()) {
+                Map.Entry<Locale, WeakReference<SharedResources>> entry = itr.next();
+                SharedResources shared = entry.getValue().get();
+                if (shared == null) {
+                    itr.remove();
+                } else if (isAffected(entry.getKey(), paths)) {
+                    affected.put(entry.getKey(), shared);
+                }
+            }
+        }
+
+        for (Map.Entry<Locale, SharedResources> entry : affected.entrySet()) {
+            Locale locale = entry.getKey();
+            try {
+                entry.getValue().current = new Resources(locale);
+                LOG.info("Reloaded lemmatizer resources of " + locale);
+            } catch (LemmatizationException e) {
+                LOG.log(Level.WARNING, "Could not reload lemmatizer resources of "
+                        + locale + ", keeping the previous ones", e);
+            }
+        }
+    }
+
+    private static boolean isAffected(Locale locale, Set<String> paths) {
+        String prefix = "/" + locale + "/";
+        for (String path : paths) {
+            if (path.startsWith(prefix + "replacements/")
+                    || path.startsWith(prefix + "dictionaries/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void initializeSharedCache(Config config) throws LemmatizationException {
+        String cacheKey = locale + ":" + flags + ":" + breakOnHyphen + ":" + breakOnUnderscore;
+        boolean[] created = { false };
+        cache = sharedCaches.computeIfAbsent(cacheKey, k -> {
+            created[0] = true;
+            return new InMemoryCache<>(
+                    config.getLemmaCacheTimeToLive(),
+                    CACHE_CLEANUP_INTERVAL,
+                    config.getLemmaCacheSize(),
+                    config.getLemmaCacheEvictionPolicy()
+            );
+        });
+
+        String snapshot = config.getLemmaCacheSnapshot();
+        if (created[0] && snapshot != null && Files.exists(Paths.get(snapshot))) {
+            loadCacheSnapshot(Paths.get(snapshot));
+        }
+    }
+
+    /**
+     * Get the statistics of the cache of lemmas used by this lemmatizer.
+     *
+     * @return {@link CacheStats} statistics of the cache
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Save the lemmas in the cache of this lemmatizer to a file, one
+     * tab-separated word, tag and lemma per line.
+     *
+     * @param path {@link Path} path of the snapshot
+     * @throws LemmatizationException if the snapshot cannot be written
+     */
+    public void saveCacheSnapshot(Path path) throws LemmatizationException {
+        long generation = resources.current.generation;
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Map.Entry<LemmaCacheKey, String> entry : cache.asMap().entrySet()) {
+                if (entry.getKey().getGeneration() != generation) {
+                    continue;
+                }
+                writer.write(entry.getKey().getToken());
+                writer.write(SNAPSHOT_SEPARATOR);
+                writer.write(entry.getKey().getTag());
+                writer.write(SNAPSHOT_SEPARATOR);
+                writer.write(entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new LemmatizationException("Could not save lemma cache snapshot", e);
+        }
+    }
+
+    /**
+     * Load lemmas saved with {@link #saveCacheSnapshot(Path)} into the
+     * cache of this lemmatizer.
+     *
+     * @param path {@link Path} path of the snapshot
+     * @throws LemmatizationException if the snapshot cannot be read
+     */
+    public void loadCacheSnapshot(Path path) throws LemmatizationException {
+        long generation = resources.current.generation;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SNAPSHOT_SEPARATOR);
+                if (fields.length == 3) {
+                    cache.put(new LemmaCacheKey(fields[0], fields[1], generation), fields[2]);
+                }
+            }
+        } catch (IOException e) {
+            throw new LemmatizationException("Could not load lemma cache snapshot", e);
+        }
+    }
+
     /**
      * This method retrieves the lemma of a given token, when classified with
      * a given <em>PoS tag</em>.
@@ -172,12 +327,14 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
 
         Token token = taggedToken.getToken();
         String tag = taggedToken.getInfo();
+        Resources r = resources.current;
 
         // check for token|tag in cache
         LemmaCacheKey key = new LemmaCacheKey(
-                token.getWord().toLowerCase(), tag.toLowerCase());
-        if (cache.get(key) != null) {
-            token.setWord(cache.get(key));
+                token.getWord().toLowerCase(), tag.toLowerCase(), r.generation);
+        String cachedLemma = cache.get(key);
+        if (cachedLemma != null) {
+            token.setWord(cachedLemma);
             return taggedToken;
         }
 
@@ -219,160 +376,160 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
         }
 
         // check flags for determining which normalizations to perform
-        if (checkFlag(ADVERB) && tag.toLowerCase().matches(adverbTags)) {
+        if (checkFlag(ADVERB) && r.adverbNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            adverbNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.adverbNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(NUMBER) &&
-                tag.toLowerCase().matches(numberTags)) {
+                r.numberNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            numberNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.numberNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(SUPERLATIVE) &&
-                tag.toLowerCase().matches(superlativeTags)) {
+                r.superlativeNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            superlativeNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.superlativeNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(AUGMENTATIVE) &&
-                tag.toLowerCase().matches(augmentativeTags)) {
+                r.augmentativeNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            augmentativeNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.augmentativeNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(DIMINUTIVE) &&
-                tag.toLowerCase().matches(diminutiveTags)) {
+                r.diminutiveNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            diminutiveNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.diminutiveNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(GENDER) &&
-                tag.toLowerCase().matches(genderTags)) {
+                r.genderNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            genderNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.genderNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(GENDER_NAME) &&
-                tag.toLowerCase().matches(genderNameTags)) {
+                r.genderNameNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            genderNameNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.genderNameNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
         }
 
         if (checkFlag(VERB) &&
-                tag.toLowerCase().matches(verbTags)) {
+                r.verbNormalizer.matchesReplacementsTags(tag)) {
 
             // check dictionary
-            if (dictionary.contains(token.getWord(), lexTag)
+            if (r.dictionary.contains(token.getWord(), lexTag)
                     && !lexTag.matches(dictionaryExclusions)) {
-                String[] lemmas = dictionary.retrieveLemmas(token.getWord(), lexTag);
+                String[] lemmas = r.dictionary.retrieveLemmas(token.getWord(), lexTag);
                 token.setWord(wordRanking.retrieveTopWord(lemmas));
                 cache.put(key, token.getWord());
                 return taggedToken;
             }
 
             // and then check rules
-            verbNormalizer.execute(taggedToken);
-            if (lexicon.contains(token.getWord(), lexTag)) {
+            r.verbNormalizer.execute(taggedToken);
+            if (r.lexicon.contains(token.getWord(), lexTag)) {
                 cache.put(key, token.getWord());
             }
         }
@@ -389,4 +546,64 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
     private boolean checkFlag(int flag) {
         return (flags & flag) == flag;
     }
+
+    /**
+     * Resources of a locale, replaced as a whole when they change.
+     */
+    private static final class SharedResources {
+        private volatile Resources current;
+
+        SharedResources(Resources current) {
+            this.current = current;
+        }
+    }
+
+    /**
+     * Normalizers, dictionary and lexicon of a locale, loaded together so
+     * that they can be replaced at once.
+     */
+    private static final class Resources {
+        private final long generation = generations.incrementAndGet();
+
+        private final AdverbTokenNormalizer adverbNormalizer;
+        private final AugmentativeTokenNormalizer augmentativeNormalizer;
+        private final DiminutiveTokenNormalizer diminutiveNormalizer;
+        private final GenderTokenNormalizer genderNormalizer;
+        private final GenderNameTokenNormalizer genderNameNormalizer;
+        private final NumberTokenNormalizer numberNormalizer;
+        private final SuperlativeTokenNormalizer superlativeNormalizer;
+        private final VerbTokenNormalizer verbNormalizer;
+
+        private final Dictionary dictionary;
+        private final Lexicon lexicon;
+
+        Resources(Locale locale) throws LemmatizationException {
+
+            // read normalizers' replacements
+            try {
+                this.adverbNormalizer = new AdverbTokenNormalizer(locale);
+                this.augmentativeNormalizer = new AugmentativeTokenNormalizer(locale);
+                this.diminutiveNormalizer = new DiminutiveTokenNormalizer(locale);
+                this.genderNormalizer = new GenderTokenNormalizer(locale);
+                this.genderNameNormalizer = new GenderNameTokenNormalizer(locale);
+                this.numberNormalizer = new NumberTokenNormalizer(locale);
+                this.superlativeNormalizer = new  SuperlativeTokenNormalizer(locale);
+                this.verbNormalizer = new VerbTokenNormalizer(locale);
+            } catch (NormalizationException e) {
+                throw new LemmatizationException(
+                        "Could not read normalizers' replacements", e);
+            }
+
+            // read dictionary
+            try {
+                this.dictionary = new Dictionary(locale);
+            } catch (DictionaryException e) {
+                throw new LemmatizationException(
+                        "Could not read dictionary", e);
+            }
+
+            // get lexicon
+            this.lexicon = dictionary.retrieveLexicon();
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package pt.up.hs.linguini.models;
+
+/**
+ * Lexical diversity metrics of a text. Metrics that were not requested, or
+ * that cannot be computed for the text (e.g., too short), are {@code null}.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class LexicalDiversity {
+
+    private Double baseTtr;
+    private Double mtld;
+    private Double hdd;
+    private Double vocd;
+
+    public LexicalDiversity() {
+    }
+
+    public LexicalDiversity(Double baseTtr, Double mtld, Double hdd, Double vocd) {
+        this.baseTtr = baseTtr;
+        this.mtld = mtld;
+        this.hdd = hdd;
+        this.vocd = vocd;
+    }
+
+    public Double getBaseTtr() {
+        return baseTtr;
+    }
+
+    public void setBaseTtr(Double baseTtr) {
+        this.baseTtr = baseTtr;
+    }
+
+    public Double getMtld() {
+        return mtld;
+    }
+
+    public void setMtld(Double mtld) {
+        this.mtld = mtld;
+    }
+
+    public Double getHdd() {
+        return hdd;
+    }
+
+    public void setHdd(Double hdd) {
+        this.hdd = hdd;
+    }
+
+    public Double getVocd() {
+        return vocd;
+    }
+
+    public void setVocd(Double vocd) {
+        this.vocd = vocd;
+    }
+}
@@ -0,0 +1,57 @@
+package pt.up.hs.linguini.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Report of the warm-up of the library for a locale.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class WarmUpReport {
+
+    // time taken to load each resource (in milliseconds)
+    private Map<String, Long> resourceLoadTimes = new LinkedHashMap<>();
+
+    // time taken to run the sample text through the pipeline (in milliseconds)
+    private long sampleAnalysisTime;
+    private int sampleAnalysisIterations;
+
+    // total time of the warm-up (in milliseconds)
+    private long totalTime;
+
+    public WarmUpReport() {
+    }
+
+    public Map<String, Long> getResourceLoadTimes() {
+        return resourceLoadTimes;
+    }
+
+    public void setResourceLoadTimes(Map<String, Long> resourceLoadTimes) {
+        this.resourceLoadTimes = resourceLoadTimes;
+    }
+
+    public long getSampleAnalysisTime() {
+        return sampleAnalysisTime;
+    }
+
+    public void setSampleAnalysisTime(long sampleAnalysisTime) {
+        this.sampleAnalysisTime = sampleAnalysisTime;
+    }
+
+    public int getSampleAnalysisIterations() {
+        return sampleAnalysisIterations;
+    }
+
+    public void setSampleAnalysisIterations(int sampleAnalysisIterations) {
+        this.sampleAnalysisIterations = sampleAnalysisIterations;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+}
@@ -10,6 +10,7 @@
 import pt.up.hs.linguini.exceptions.LinguiniException;
 import pt.up.hs.linguini.models.AnnotatedToken;
 import pt.up.hs.linguini.pipeline.Step;
+import pt.up.hs.linguini.resources.ModelRegistry;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,8 +23,6 @@
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class NNDepParser implements Step<List<AnnotatedToken<String>>, List<Relation>> {
-    private static final String FILE_PATH_FORMAT =
-            "%s/models/%s.depparser.txt.gz";
 
     private final Locale locale;
 
@@ -31,19 +30,21 @@ public class NNDepParser implements Step<List<AnnotatedToken<String>>, List<Rela
 
     private NNDepParser(Locale locale) {
         this.locale = locale;
-        this.depParser = DependencyParser.loadFromModelFile(
-                String.format(
-                        FILE_PATH_FORMAT,
-                        locale.toString(),
-                        locale.toString()
-                )
-        );
+        this.depParser = ModelRegistry.getDependencyParser(locale);
     }
 
     public static NNDepParser getInstance() {
         return getInstance(Locale.getDefault());
     }
 
+    /**
+     * Get a dependency parser for a locale. The underlying model is shared
+     * through the {@link ModelRegistry}, so this is cheap after the first
+     * call for the locale.
+     *
+     * @param locale {@link Locale} locale of the parser.
+     * @return {@link NNDepParser} dependency parser.
+     */
     public static NNDepParser getInstance(Locale locale) {
         return new NNDepParser(locale);
     }
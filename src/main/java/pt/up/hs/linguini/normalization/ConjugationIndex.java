@@ -0,0 +1,286 @@
+package pt.up.hs.linguini.normalization;
+
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Index of verb replacements (irregular conjugations or lexemes) that finds
+ * the first replacement (in the given order) whose target, possibly preceded
+ * by a verb prefix, matches a word. Targets made of plain characters,
+ * character classes and optional atoms (e.g., {@code abaf[aáeo]} or
+ * {@code dad[ao]s?}) are expanded into every form they accept and kept in a
+ * trie, so that a lookup walks the word instead of evaluating every
+ * replacement, as long as their prefix and suffix can be matched apart from
+ * the target. Prefixes, suffixes and tags are checked only for the
+ * replacements found in the trie. The remaining replacements are checked
+ * with their regular expressions, as usual.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class ConjugationIndex {
+    private static final int MAX_EXPANSIONS = 256;
+
+    private final Replacement[] replacements;
+
+    private final Pattern[] prefixes;
+    private final Pattern[] suffixes;
+    private final Pattern[] tags;
+    private final Pattern[] targets;
+    private final Pattern[] targetsWithoutPrefixes;
+    private final Pattern[] targetsWithPrefixes;
+
+    private final ReplacementTrie root;
+    private final int[] fallbacks;
+
+    /**
+     * Build an index of verb replacements.
+     *
+     * @param replacements {@link Replacement[]} replacements, in the order
+     *                     in which they should be tried
+     */
+    ConjugationIndex(Replacement[] replacements) {
+        this(replacements, ReplacementIndex.patternCache());
+    }
+
+    /**
+     * Build an index of verb replacements.
+     *
+     * @param replacements {@link Replacement[]} replacements, in the order
+     *                     in which they should be tried
+     * @param patterns     {@link Function} gets the compiled pattern of a
+     *                     regular expression
+     */
+    ConjugationIndex(Replacement[] replacements,
+                     Function<String, Pattern> patterns) {
+        this.replacements = replacements;
+
+        int n = replacements.length;
+        prefixes = new Pattern[n];
+        suffixes = new Pattern[n];
+        tags = new Pattern[n];
+        targets = new Pattern[n];
+        targetsWithoutPrefixes = new Pattern[n];
+        targetsWithPrefixes = new Pattern[n];
+
+        ReplacementTrie.Builder builder = new ReplacementTrie.Builder();
+        List<Integer> regexReplacements = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Replacement replacement = replacements[i];
+            tags[i] = patterns.apply(replacement.getTag());
+            targets[i] = patterns.apply(replacement.getTarget());
+            targetsWithoutPrefixes[i] = patterns.apply(
+                    replacement.getTarget() + replacement.getSuffix());
+            targetsWithPrefixes[i] = patterns.apply(replacement.getPrefix() +
+                    replacement.getTarget() + replacement.getSuffix());
+
+            List<String> forms = null;
+            if (RegexUtils.isSeparablePrefix(replacement.getPrefix())
+                    && RegexUtils.isSeparableSuffix(replacement.getSuffix())) {
+                forms = expand(replacement.getTarget());
+            }
+            if (forms != null) {
+                try {
+                    prefixes[i] = patterns.apply(replacement.getPrefix());
+                    suffixes[i] = patterns.apply(replacement.getSuffix());
+                } catch (PatternSyntaxException e) {
+                    forms = null;
+                }
+            }
+            if (forms == null) {
+                regexReplacements.add(i);
+            } else {
+                for (String form : forms) {
+                    builder.add(form, i);
+                }
+            }
+        }
+
+        root = builder.build();
+        fallbacks = regexReplacements.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Find the first replacement whose target followed by its suffix
+     * matches the whole word.
+     *
+     * @param word {@link String} lowercase word
+     * @param tag  {@link String} lowercase tag (or {@code null} to accept
+     *             any tag)
+     * @return {@code int} position of the replacement in the indexed array,
+     * or -1 if none applies.
+     */
+    int findWithoutPrefix(String word, String tag) {
+        int best = find(word, 0, tag, false, Integer.MAX_VALUE);
+        best = findInFallbacks(targetsWithoutPrefixes, word, tag, best);
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * Find the first replacement whose prefix, target and suffix match the
+     * whole word.
+     *
+     * @param word {@link String} lowercase word
+     * @param tag  {@link String} lowercase tag (or {@code null} to accept
+     *             any tag)
+     * @return {@code int} position of the replacement in the indexed array,
+     * or -1 if none applies.
+     */
+    int findWithPrefix(String word, String tag) {
+        int best = Integer.MAX_VALUE;
+        for (int start = 0; start <= word.length(); start++) {
+            best = find(word, start, tag, true, best);
+        }
+        best = findInFallbacks(targetsWithPrefixes, word, tag, best);
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * Get the replacement at a position of the index.
+     *
+     * @param i {@code int} position of the replacement
+     * @return {@link Replacement} the replacement
+     */
+    Replacement get(int i) {
+        return replacements[i];
+    }
+
+    /**
+     * Split a word around the matches of the target of a replacement.
+     *
+     * @param i    {@code int} position of the replacement
+     * @param word {@link String} word to split
+     * @return {@link String[]} parts of the word
+     */
+    String[] splitOnTarget(int i, String word) {
+        return targets[i].split(word);
+    }
+
+    private int find(String word, int start, String tag, boolean withPrefix, int best) {
+        ReplacementTrie node = root;
+        for (int pos = start; node != null; pos++) {
+            for (int i : node.replacements()) {
+                if (i >= best) {
+                    break;
+                }
+                if (matches(word, start, pos, tag, withPrefix, i)) {
+                    best = i;
+                    break;
+                }
+            }
+            node = pos < word.length() ? node.child(word.charAt(pos)) : null;
+        }
+        return best;
+    }
+
+    private boolean matches(String word, int start, int end, String tag,
+                            boolean withPrefix, int i) {
+        if (tag != null && !tags[i].matcher(tag).matches()) {
+            return false;
+        }
+        Matcher suffix = suffixes[i].matcher(word);
+        suffix.region(end, word.length());
+        if (!suffix.matches()) {
+            return false;
+        }
+        if (!withPrefix) {
+            return true;
+        }
+        Matcher prefix = prefixes[i].matcher(word);
+        prefix.region(0, start);
+        return prefix.matches();
+    }
+
+    private int findInFallbacks(Pattern[] patterns, String word, String tag, int best) {
+        for (int i : fallbacks) {
+            if (i >= best) {
+                break;
+            }
+            if (patterns[i].matcher(word).matches()
+                    && (tag == null || tags[i].matcher(tag).matches())) {
+                return i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Expand a target into every word it accepts. Only plain characters,
+     * escaped punctuation, character classes without ranges and the
+     * {@code ?} quantifier are supported.
+     *
+     * @param target {@link String} target regular expression
+     * @return {@link List} words accepted by the target or {@code null} if
+     * it cannot be expanded
+     */
+    static List<String> expand(String target) {
+        List<String> forms = new ArrayList<>();
+        forms.add("");
+        int pos = 0;
+        while (pos < target.length()) {
+            char c = target.charAt(pos);
+            String options;
+            if (c == '[') {
+                int end = target.indexOf(']', pos);
+                if (end < 0) {
+                    return null;
+                }
+                options = target.substring(pos + 1, end);
+                if (options.isEmpty() || options.indexOf('\\') >= 0
+                        || options.indexOf('-') >= 0 || options.indexOf('^') >= 0
+                        || options.indexOf('[') >= 0 || options.indexOf('&') >= 0) {
+                    return null;
+                }
+                pos = end + 1;
+            } else if (c == '\\') {
+                if (pos + 1 >= target.length()
+                        || Character.isLetterOrDigit(target.charAt(pos + 1))) {
+                    return null;
+                }
+                options = String.valueOf(target.charAt(pos + 1));
+                pos += 2;
+            } else if ("]().*+?^$|{}".indexOf(c) >= 0) {
+                return null;
+            } else {
+                options = String.valueOf(c);
+                pos++;
+            }
+
+            boolean optional = false;
+            if (pos < target.length()) {
+                char quantifier = target.charAt(pos);
+                if (quantifier == '?') {
+                    optional = true;
+                    pos++;
+                    if (pos < target.length() && "?+".indexOf(target.charAt(pos)) >= 0) {
+                        return null;
+                    }
+                } else if ("*+{".indexOf(quantifier) >= 0) {
+                    return null;
+                }
+            }
+
+            List<String> next = new ArrayList<>();
+            for (String form : forms) {
+                if (optional) {
+                    next.add(form);
+                }
+                for (int k = 0; k < options.length(); k++) {
+                    next.add(form + options.charAt(k));
+                }
+            }
+            if (next.size() > MAX_EXPANSIONS) {
+                return null;
+            }
+            forms = next;
+        }
+        return forms;
+    }
+}
@@ -5,8 +5,6 @@
 import pt.up.hs.linguini.models.Token;
 import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
 
-import java.util.regex.Pattern;
-
 /**
  * Normalizer of declensions.
  *
@@ -14,34 +12,17 @@
  */
 public class DeclensionTokenNormalizer extends ReplacementTokenNormalizer {
 
-    protected Pattern[] declensionExceptions;
-    protected Pattern[] declensionTargets;
-    protected Pattern[] declensionTags;
+    private ReplacementIndex declensions;
 
     public DeclensionTokenNormalizer(String path)
             throws NormalizationException {
         super(path);
-        initializePatterns();
+        declensions = new ReplacementIndex(replacements, true, patterns);
     }
 
     public DeclensionTokenNormalizer(Replacement[] replacements) {
         super(replacements);
-        initializePatterns();
-    }
-
-    private void initializePatterns() {
-        declensionExceptions = new Pattern[this.replacements.length];
-        declensionTargets = new Pattern[this.replacements.length];
-        declensionTags = new Pattern[this.replacements.length];
-        for (int i = 0; i < replacements.length; i++) {
-            declensionExceptions[i] = Pattern.compile(
-                    replacements[i].getExceptions());
-            declensionTargets[i] = Pattern.compile(
-                    replacements[i].getPrefix() +
-                            replacements[i].getTarget() +
-                            replacements[i].getSuffix());
-            declensionTags[i] = Pattern.compile(replacements[i].getTag());
-        }
+        declensions = new ReplacementIndex(this.replacements, true, patterns);
     }
 
     @Override
@@ -49,26 +30,22 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
         Token token = taggedToken.getToken();
         String tag = taggedToken.getInfo();
 
-        if (tag != null && !tag.toLowerCase().matches(getReplacementsTagsString())) {
+        if (tag != null && !matchesReplacementsTags(tag)) {
             return taggedToken;
         }
 
         String normalizedWord = token.getWord().toLowerCase();
-        for (int i = 0; i < replacements.length; i++) {
-            if (
-                    declensionTargets[i].matcher(normalizedWord).matches() &&
-                            (tag == null || declensionTags[i].matcher(tag.toLowerCase()).matches()) &&
-                            !declensionExceptions[i].matcher(normalizedWord).matches()
-            ) {
-                normalizedWord = normalizedWord
-                        .substring(
-                                0,
-                                normalizedWord.length() -
-                                        replacements[i].getTarget().length()
-                        ) +
-                        replacements[i].getReplacement();
-                break;
-            }
+        int i = declensions.find(
+                normalizedWord, tag == null ? null : tag.toLowerCase());
+        if (i >= 0) {
+            Replacement declension = declensions.get(i);
+            normalizedWord = normalizedWord
+                    .substring(
+                            0,
+                            normalizedWord.length() -
+                                    declension.getTarget().length()
+                    ) +
+                    declension.getReplacement();
         }
         token.setWord(normalizedWord);
         return taggedToken;
@@ -38,9 +38,9 @@ private void initializePatterns() {
         targets = new Pattern[this.replacements.length];
         tags = new Pattern[this.replacements.length];
         for (int i = 0; i < replacements.length; i++) {
-            targets[i] = Pattern.compile(replacements[i].getPrefix() +
+            targets[i] = patterns.apply(replacements[i].getPrefix() +
                     replacements[i].getTarget() + replacements[i].getSuffix());
-            tags[i] = Pattern.compile(replacements[i].getTag());
+            tags[i] = patterns.apply(replacements[i].getTag());
         }
     }
 
@@ -49,7 +49,7 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
         Token token = taggedToken.getToken();
         String tag = taggedToken.getInfo();
 
-        if (tag != null && !tag.toLowerCase().matches(getReplacementsTagsString())) {
+        if (tag != null && !matchesReplacementsTags(tag)) {
             return taggedToken;
         }
 
@@ -0,0 +1,205 @@
+package pt.up.hs.linguini.normalization;
+
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Index of replacements that finds the first replacement (in the given order)
+ * matching a word and a tag. Replacements whose target and suffix are plain
+ * text, and whose prefix can be matched apart from them, are kept in a trie
+ * of reversed suffixes, one trie per distinct tag, so that a lookup walks the
+ * word once from its end instead of evaluating every replacement. The
+ * remaining replacements are checked with their regular expressions, as
+ * usual.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class ReplacementIndex {
+    private final Replacement[] replacements;
+
+    private final Pattern[] prefixes;
+    private final Pattern[] targets;
+    private final Pattern[] exceptions;
+    private final int[] literalLengths;
+
+    private final Pattern[] tags;
+    private final ReplacementTrie[] tries;
+    private final int[][] fallbacks;
+
+    /**
+     * Build an index of replacements.
+     *
+     * @param replacements {@link Replacement[]} replacements, in the order
+     *                     in which they should be tried
+     * @param withPrefixes {@code boolean} should the prefix of each
+     *                     replacement be matched too?
+     */
+    ReplacementIndex(Replacement[] replacements, boolean withPrefixes) {
+        this(replacements, withPrefixes, patternCache());
+    }
+
+    /**
+     * Build an index of replacements.
+     *
+     * @param replacements {@link Replacement[]} replacements, in the order
+     *                     in which they should be tried
+     * @param withPrefixes {@code boolean} should the prefix of each
+     *                     replacement be matched too?
+     * @param patterns     {@link Function} gets the compiled pattern of a
+     *                     regular expression
+     */
+    ReplacementIndex(Replacement[] replacements, boolean withPrefixes,
+                     Function<String, Pattern> patterns) {
+        this.replacements = replacements;
+
+        int n = replacements.length;
+        prefixes = new Pattern[n];
+        targets = new Pattern[n];
+        exceptions = new Pattern[n];
+        literalLengths = new int[n];
+
+        Map<String, ReplacementTrie.Builder> builders = new LinkedHashMap<>();
+        Map<String, List<Integer>> regexReplacements = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Replacement replacement = replacements[i];
+            String prefix = withPrefixes ? replacement.getPrefix() : "";
+            String literal = replacement.getTarget() + replacement.getSuffix();
+
+            targets[i] = patterns.apply(prefix + literal);
+            exceptions[i] = patterns.apply(replacement.getExceptions());
+            if (RegexUtils.isLiteral(literal)) {
+                prefixes[i] = separatePrefix(prefix, patterns);
+            }
+
+            ReplacementTrie.Builder builder = builders.computeIfAbsent(
+                    replacement.getTag(), t -> new ReplacementTrie.Builder());
+            if (prefixes[i] != null) {
+                literalLengths[i] = literal.length();
+                builder.add(new StringBuilder(literal).reverse().toString(), i);
+            } else {
+                literalLengths[i] = -1;
+                regexReplacements
+                        .computeIfAbsent(replacement.getTag(), t -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        tags = new Pattern[builders.size()];
+        tries = new ReplacementTrie[builders.size()];
+        fallbacks = new int[builders.size()][];
+        int t = 0;
+        for (Map.Entry<String, ReplacementTrie.Builder> entry : builders.entrySet()) {
+            tags[t] = patterns.apply(entry.getKey());
+            tries[t] = entry.getValue().build();
+            fallbacks[t] = regexReplacements
+                    .getOrDefault(entry.getKey(), new ArrayList<>())
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            t++;
+        }
+    }
+
+    /**
+     * Get a function that compiles regular expressions, compiling each
+     * distinct one only once. The function can be used by several threads.
+     *
+     * @return {@link Function} gets the compiled pattern of a regular
+     *      expression
+     */
+    static Function<String, Pattern> patternCache() {
+        Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+        return regex -> patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    /**
+     * Find the first replacement that applies to a word with a tag.
+     *
+     * @param word {@link String} lowercase word
+     * @param tag  {@link String} lowercase tag (or {@code null} to accept
+     *             any tag)
+     * @return {@code int} position of the replacement in the indexed array,
+     * or -1 if none applies.
+     */
+    int find(String word, String tag) {
+        int best = Integer.MAX_VALUE;
+        for (int t = 0; t < tries.length; t++) {
+            if (tag != null && !tags[t].matcher(tag).matches()) {
+                continue;
+            }
+
+            // walk the word backwards, collecting replacements ending here
+            ReplacementTrie node = tries[t];
+            for (int pos = word.length(); node != null; pos--) {
+                for (int i : node.replacements()) {
+                    if (i >= best) {
+                        break;
+                    }
+                    if (matchesLiteral(word, i)) {
+                        best = i;
+                        break;
+                    }
+                }
+                node = pos > 0 ? node.child(word.charAt(pos - 1)) : null;
+            }
+
+            for (int i : fallbacks[t]) {
+                if (i >= best) {
+                    break;
+                }
+                if (targets[i].matcher(word).matches()
+                        && !exceptions[i].matcher(word).matches()) {
+                    best = i;
+                    break;
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * Get the replacement at a position of the index.
+     *
+     * @param i {@code int} position of the replacement
+     * @return {@link Replacement} the replacement
+     */
+    Replacement get(int i) {
+        return replacements[i];
+    }
+
+    private boolean matchesLiteral(String word, int i) {
+        Matcher prefix = prefixes[i].matcher(word);
+        prefix.region(0, word.length() - literalLengths[i]);
+        return prefix.matches() && !exceptions[i].matcher(word).matches();
+    }
+
+    /**
+     * Compile the prefix of a replacement with a literal target and suffix,
+     * if it can be matched apart from them.
+     *
+     * @return {@link Pattern} compiled prefix, or {@code null} if the
+     *      replacement must be matched with its whole regular expression
+     */
+    private static Pattern separatePrefix(String prefix,
+                                          Function<String, Pattern> patterns) {
+        if (!RegexUtils.isSeparablePrefix(prefix)) {
+            return null;
+        }
+        try {
+            return patterns.apply(prefix);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+}
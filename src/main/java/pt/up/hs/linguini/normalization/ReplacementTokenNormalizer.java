@@ -2,10 +2,13 @@
 
 import pt.up.hs.linguini.models.Replacement;
 import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
+import pt.up.hs.linguini.resources.CompiledReplacements;
 import pt.up.hs.linguini.resources.ResourceLoader;
 import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
 
 import java.util.Arrays;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -18,19 +21,41 @@
 
     protected final Replacement[] replacements;
 
+    /**
+     * Gets the compiled pattern of a regular expression. Patterns of
+     * replacements loaded from a path are shared with other normalizers.
+     */
+    protected final Function<String, Pattern> patterns;
+
+    private volatile Pattern replacementsTags;
+
     public ReplacementTokenNormalizer(String path)
             throws NormalizationException {
-        try {
-            replacements = ResourceLoader.readReplacements(path);
-        } catch (ResourceLoadingException e) {
-            throw new NormalizationException("Could not load replacements", e);
-        }
-        Arrays.sort(replacements);
+        CompiledReplacements compiled = readCompiledReplacements(path);
+        replacements = compiled.getSortedReplacements();
+        patterns = compiled::pattern;
     }
 
     public ReplacementTokenNormalizer(Replacement[] replacements) {
         this.replacements = replacements;
         Arrays.sort(this.replacements);
+        patterns = ReplacementIndex.patternCache();
+    }
+
+    /**
+     * Read the shared compiled replacements of a path.
+     *
+     * @param path {@link String} path to a replacements file
+     * @return {@link CompiledReplacements} compiled replacements
+     * @throws NormalizationException if the replacements cannot be loaded
+     */
+    protected static CompiledReplacements readCompiledReplacements(String path)
+            throws NormalizationException {
+        try {
+            return ResourceLoader.readCompiledReplacements(path);
+        } catch (ResourceLoadingException e) {
+            throw new NormalizationException("Could not load replacements", e);
+        }
     }
 
     public String getReplacementsTagsString() {
@@ -40,4 +65,20 @@ public String getReplacementsTagsString() {
                 .distinct()
                 .collect(Collectors.joining("|"));
     }
+
+    /**
+     * Check if a tag is one of the tags of the replacements. The pattern
+     * of tags is only compiled once.
+     *
+     * @param tag {@link String} tag to check
+     * @return {@code boolean} tag is one of the tags of the replacements?
+     */
+    public boolean matchesReplacementsTags(String tag) {
+        Pattern pattern = replacementsTags;
+        if (pattern == null) {
+            pattern = patterns.apply(getReplacementsTagsString());
+            replacementsTags = pattern;
+        }
+        return pattern.matcher(tag.toLowerCase()).matches();
+    }
 }
@@ -0,0 +1,109 @@
+package pt.up.hs.linguini.normalization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of replacement keys. Each node holds the positions of the
+ * replacements whose key ends there, in ascending order, and its children
+ * in arrays sorted by character.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class ReplacementTrie {
+    private static final int[] NO_REPLACEMENTS = new int[0];
+
+    private final char[] keys;
+    private final ReplacementTrie[] children;
+    private final int[] replacements;
+
+    private ReplacementTrie(char[] keys, ReplacementTrie[] children, int[] replacements) {
+        this.keys = keys;
+        this.children = children;
+        this.replacements = replacements;
+    }
+
+    /**
+     * Get the child of this node reached by a character.
+     *
+     * @param c {@code char} character
+     * @return {@link ReplacementTrie} child node or {@code null} if there is
+     * none.
+     */
+    ReplacementTrie child(char c) {
+        int lo = 0;
+        int hi = keys.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < c) {
+                lo = mid + 1;
+            } else if (keys[mid] > c) {
+                hi = mid - 1;
+            } else {
+                return children[mid];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the positions of the replacements whose key ends at this node.
+     *
+     * @return {@code int[]} positions of replacements, in ascending order.
+     */
+    int[] replacements() {
+        return replacements;
+    }
+
+    /**
+     * Mutable trie used to build a {@link ReplacementTrie}. Replacements must
+     * be added in ascending order of position.
+     */
+    static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private final List<Integer> replacements = new ArrayList<>();
+
+        /**
+         * Add a key of a replacement.
+         *
+         * @param key {@link String} key
+         * @param i   {@code int} position of the replacement
+         */
+        void add(String key, int i) {
+            Builder node = this;
+            for (int pos = 0; pos < key.length(); pos++) {
+                node = node.children.computeIfAbsent(
+                        key.charAt(pos), c -> new Builder());
+            }
+            if (node.replacements.isEmpty()
+                    || node.replacements.get(node.replacements.size() - 1) != i) {
+                node.replacements.add(i);
+            }
+        }
+
+        /**
+         * Build the immutable trie.
+         *
+         * @return {@link ReplacementTrie} root of the trie
+         */
+        ReplacementTrie build() {
+            char[] keys = new char[children.size()];
+            ReplacementTrie[] nodes = new ReplacementTrie[children.size()];
+            int k = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                keys[k] = child.getKey();
+                nodes[k] = child.getValue().build();
+                k++;
+            }
+            return new ReplacementTrie(
+                    keys,
+                    nodes,
+                    replacements.isEmpty()
+                            ? NO_REPLACEMENTS
+                            : replacements.stream().mapToInt(Integer::intValue).toArray()
+            );
+        }
+    }
+}
@@ -4,12 +4,10 @@
 import pt.up.hs.linguini.models.Replacement;
 import pt.up.hs.linguini.models.Token;
 import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
-import pt.up.hs.linguini.resources.ResourceLoader;
-import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+import pt.up.hs.linguini.resources.CompiledReplacements;
 
 import java.util.Arrays;
 import java.util.Locale;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,34 +24,27 @@ public class VerbTokenNormalizer extends DeclensionTokenNormalizer {
     private static final String VERB_LEXEMES_FILE_PATH_FORMAT =
             "/%s/replacements/verblexemes.json";
 
-    private Pattern[] conjugationTargetsWithoutPrefixes;
-    private Pattern[] conjugationTargets;
-    private Pattern[] conjugationTags;
-
-    private Pattern[] lexemeTargetsWithoutPrefixes;
-    private Pattern[] lexemeTargets;
-    private Pattern[] lexemeTags;
-
     private Replacement[] conjugations;
     private Replacement[] lexemes;
 
+    private ConjugationIndex conjugationIndex;
+    private ConjugationIndex lexemeIndex;
+
     public VerbTokenNormalizer() throws NormalizationException {
         this(Locale.getDefault());
     }
 
     public VerbTokenNormalizer(Locale locale) throws NormalizationException {
         super(String.format(VERB_DECLENSIONS_FILE_PATH_FORMAT, locale.toString()));
-        try {
-            this.conjugations = ResourceLoader.readReplacements(
-                    String.format(VERB_IRREGULAR_CONJ_FILE_PATH_FORMAT, locale.toString())
-            );
-            this.lexemes = ResourceLoader.readReplacements(
-                    String.format(VERB_LEXEMES_FILE_PATH_FORMAT, locale.toString())
-            );
-        } catch (ResourceLoadingException e) {
-            throw new NormalizationException("Could not load replacements", e);
-        }
-        initialize();
+        CompiledReplacements compiledConjugations = readCompiledReplacements(
+                String.format(VERB_IRREGULAR_CONJ_FILE_PATH_FORMAT, locale.toString()));
+        CompiledReplacements compiledLexemes = readCompiledReplacements(
+                String.format(VERB_LEXEMES_FILE_PATH_FORMAT, locale.toString()));
+        this.conjugations = compiledConjugations.getSortedReplacements();
+        this.lexemes = compiledLexemes.getSortedReplacements();
+        conjugationIndex = new ConjugationIndex(
+                conjugations, compiledConjugations::pattern);
+        lexemeIndex = new ConjugationIndex(lexemes, compiledLexemes::pattern);
     }
 
     public VerbTokenNormalizer(Replacement[] conjugations, Replacement[] lexemes,
@@ -67,26 +58,8 @@ public VerbTokenNormalizer(Replacement[] conjugations, Replacement[] lexemes,
     private void initialize() {
         Arrays.sort(conjugations);
         Arrays.sort(lexemes);
-        conjugationTargetsWithoutPrefixes = new Pattern[conjugations.length];
-        conjugationTargets = new Pattern[conjugations.length];
-        conjugationTags = new Pattern[conjugations.length];
-        for (int i = 0; i < conjugations.length; i++) {
-            conjugationTargetsWithoutPrefixes[i] = Pattern.compile(
-                    conjugations[i].getTarget() + conjugations[i].getSuffix());
-            conjugationTargets[i] = Pattern.compile(conjugations[i].getPrefix()
-                    + conjugations[i].getTarget() + conjugations[i].getSuffix());
-            conjugationTags[i] = Pattern.compile(conjugations[i].getTag());
-        }
-        lexemeTargetsWithoutPrefixes = new Pattern[lexemes.length];
-        lexemeTargets = new Pattern[lexemes.length];
-        lexemeTags = new Pattern[lexemes.length];
-        for (int i = 0; i < lexemes.length; i++) {
-            lexemeTargetsWithoutPrefixes[i] = Pattern.compile(
-                    lexemes[i].getTarget() + lexemes[i].getSuffix());
-            lexemeTargets[i] = Pattern.compile(lexemes[i].getPrefix()
-                    + lexemes[i].getTarget() + lexemes[i].getSuffix());
-            lexemeTags[i] = Pattern.compile(lexemes[i].getTag());
-        }
+        conjugationIndex = new ConjugationIndex(conjugations, patterns);
+        lexemeIndex = new ConjugationIndex(lexemes, patterns);
     }
 
     public String getReplacementsTagsString() {
@@ -115,85 +88,43 @@ public AnnotatedToken<String> execute(AnnotatedToken<String> taggedToken) {
         Token token = taggedToken.getToken();
         String tag = taggedToken.getInfo();
 
-        if (tag != null && !tag.toLowerCase().matches(getReplacementsTagsString())) {
+        if (tag != null && !matchesReplacementsTags(tag)) {
             return taggedToken;
         }
 
         String currentNormalization = token.getWord().toLowerCase();
         String normalization = currentNormalization;
-        boolean matchFound = false;
+        String lowerCaseTag = tag == null ? null : tag.toLowerCase();
 
         // from inflections to lemmas (without prefixes)
-        for (int i = 0; i < conjugations.length; i++) {
-            if (conjugationTargetsWithoutPrefixes[i].matcher(
-                    currentNormalization).matches()
-                    && (tag == null || conjugationTags[i].matcher(tag.toLowerCase()).matches())) {
-                if (currentNormalization.split(
-                        conjugations[i].getTarget()).length > 0) {
-                    String verbPrefix = token.getWord().split(conjugations[i].getTarget())[0];
-                    normalization = verbPrefix + conjugations[i].getReplacement();
-                } else {
-                    normalization = conjugations[i].getReplacement();
-                }
-                matchFound = true;
-                break;
-            }
-        }
+        ConjugationIndex index = conjugationIndex;
+        int i = index.findWithoutPrefix(currentNormalization, lowerCaseTag);
 
         // from inflections to lemmas (with prefixes)
-        if (!matchFound) {
-            for (int i = 0; i < conjugations.length; i++) {
-                if (conjugationTargets[i].matcher(currentNormalization).matches()
-                        && (tag == null || conjugationTags[i].matcher(tag.toLowerCase()).matches())) {
-                    // check whether the current inflection is from a verb with a prefix
-                    // and appends it (the prefix) to the replacement
-                    if (currentNormalization.split(
-                            conjugations[i].getTarget()).length > 0) {
-                        String verbPrefix = token.getWord().split(conjugations[i].getTarget())[0];
-                        normalization = verbPrefix + conjugations[i].getReplacement();
-                    } else {
-                        normalization = conjugations[i].getReplacement();
-                    }
-                    matchFound = true;
-                    break;
-                }
-            }
+        if (i < 0) {
+            i = index.findWithPrefix(currentNormalization, lowerCaseTag);
         }
 
         // from lexemes to lemmas (without prefixes)
-        if (!matchFound) {
-            for (int i = 0; i < lexemes.length; i++) {
-                if (lexemeTargetsWithoutPrefixes[i].matcher(
-                        currentNormalization).matches()
-                        && (tag == null || lexemeTags[i].matcher(tag.toLowerCase()).matches())) {
-                    if (currentNormalization.split(lexemes[i].getTarget()).length > 0) {
-                        String verbPrefix = token.getWord().split(lexemes[i].getTarget())[0];
-                        normalization = verbPrefix + lexemes[i].getReplacement();
-                    } else {
-                        normalization = lexemes[i].getReplacement();
-                    }
-                    matchFound = true;
-                    break;
-                }
-            }
+        if (i < 0) {
+            index = lexemeIndex;
+            i = index.findWithoutPrefix(currentNormalization, lowerCaseTag);
         }
 
         // from lexemes to lemmas (with prefixes)
-        if (!matchFound) {
-            for (int i = 0; i < lexemes.length; i++) {
-                if (lexemeTargets[i].matcher(currentNormalization).matches()
-                        && (tag == null || lexemeTags[i].matcher(tag.toLowerCase()).matches())) {
-                    // check whether the current lexeme is from a verb with a prefix
-                    // and appends it (the prefix) to the replacement
-                    if (currentNormalization.split(lexemes[i].getTarget()).length > 0) {
-                        String verbPrefix = token.getWord().split(lexemes[i].getTarget())[0];
-                        normalization = verbPrefix + lexemes[i].getReplacement();
-                    } else {
-                        normalization = lexemes[i].getReplacement();
-                    }
-                    matchFound = true;
-                    break;
-                }
+        if (i < 0) {
+            i = index.findWithPrefix(currentNormalization, lowerCaseTag);
+        }
+
+        boolean matchFound = i >= 0;
+        if (matchFound) {
+            // check whether the current form is from a verb with a prefix
+            // and appends it (the prefix) to the replacement
+            if (index.splitOnTarget(i, currentNormalization).length > 0) {
+                String verbPrefix = index.splitOnTarget(i, token.getWord())[0];
+                normalization = verbPrefix + index.get(i).getReplacement();
+            } else {
+                normalization = index.get(i).getReplacement();
             }
         }
 
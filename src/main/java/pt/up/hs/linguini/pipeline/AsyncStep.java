@@ -0,0 +1,81 @@
+package pt.up.hs.linguini.pipeline;
+
+import pt.up.hs.linguini.exceptions.LinguiniException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Asynchronous counterpart of {@link Step}, whose result is delivered
+ * through a {@link CompletableFuture}.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+@FunctionalInterface
+public interface AsyncStep<I, O> {
+
+    CompletableFuture<O> execute(I value);
+
+    /**
+     * Chain a step to run as soon as this one completes.
+     *
+     * @param next {@link AsyncStep} step receiving the output of this one.
+     * @param <R>  type of the output of the chained step.
+     * @return {@link AsyncStep} composed step.
+     */
+    default <R> AsyncStep<I, R> pipe(AsyncStep<O, R> next) {
+        return value -> execute(value).thenCompose(next::execute);
+    }
+
+    /**
+     * Run another step on the same input, concurrently with this one, and
+     * combine both outputs when they complete.
+     *
+     * @param other    {@link AsyncStep} independent step on the same input.
+     * @param combiner {@link BiFunction} combines the outputs of both steps.
+     * @param <R>      type of the output of the other step.
+     * @param <S>      type of the combined output.
+     * @return {@link AsyncStep} composed step.
+     */
+    default <R, S> AsyncStep<I, S> and(
+            AsyncStep<I, R> other,
+            BiFunction<? super O, ? super R, ? extends S> combiner
+    ) {
+        return value -> execute(value).thenCombine(other.execute(value), combiner);
+    }
+
+    static <I, O> AsyncStep<I, O> of(Step<I, O> step, Executor executor) {
+        return value -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return step.execute(value);
+            } catch (LinguiniException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Wait for the result of an asynchronous step, unwrapping the exception
+     * thrown by the step, if any.
+     *
+     * @param future {@link CompletableFuture} result of the step.
+     * @param <O>    type of the result.
+     * @return the result of the step.
+     * @throws LinguiniException if the step failed.
+     */
+    static <O> O await(CompletableFuture<O> future) throws LinguiniException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LinguiniException) {
+                throw (LinguiniException) e.getCause();
+            }
+            throw new LinguiniException("Failed to execute asynchronous step.", e.getCause());
+        } catch (CancellationException e) {
+            throw new LinguiniException("Asynchronous step cancelled.", e);
+        }
+    }
+}
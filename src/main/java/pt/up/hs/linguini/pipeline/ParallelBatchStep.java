@@ -0,0 +1,93 @@
+package pt.up.hs.linguini.pipeline;
+
+import pt.up.hs.linguini.exceptions.LinguiniException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Batch step applier which executes the inner step concurrently on each of
+ * the values. The order of the values is preserved in the output.
+ *
+ * Steps which are not thread-safe must be supplied through a
+ * {@link StepFactory}. In such case, instances are created on demand and
+ * reused, but an instance is never used by two values at the same time.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class ParallelBatchStep<I, O> implements Step<List<I>, List<O>> {
+
+    private final StepFactory<I, O> factory;
+    private final Queue<Step<I, O>> idleSteps = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService executor;
+
+    public ParallelBatchStep(Step<I, O> step) {
+        this(step, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBatchStep(Step<I, O> step, ExecutorService executor) {
+        this.factory = () -> step;
+        this.executor = executor;
+    }
+
+    public ParallelBatchStep(StepFactory<I, O> factory) {
+        this(factory, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBatchStep(StepFactory<I, O> factory, ExecutorService executor) {
+        this.factory = factory;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<O> execute(List<I> values) throws LinguiniException {
+
+        List<Future<O>> futures = new ArrayList<>(values.size());
+        for (I value: values) {
+            futures.add(executor.submit(() -> apply(value)));
+        }
+
+        List<O> os = new ArrayList<>(values.size());
+        try {
+            for (Future<O> future: futures) {
+                os.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof LinguiniException) {
+                throw (LinguiniException) e.getCause();
+            }
+            throw new LinguiniException("Failed to execute batch step.", e.getCause());
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new LinguiniException("Batch step interrupted.", e);
+        }
+        return os;
+    }
+
+    private O apply(I value) throws LinguiniException {
+        Step<I, O> step = idleSteps.poll();
+        if (step == null) {
+            step = factory.create();
+        }
+        try {
+            return step.execute(value);
+        } finally {
+            idleSteps.offer(step);
+        }
+    }
+
+    private void cancel(List<Future<O>> futures) {
+        for (Future<O> future: futures) {
+            future.cancel(true);
+        }
+    }
+}
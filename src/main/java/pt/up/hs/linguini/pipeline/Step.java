@@ -2,6 +2,8 @@
 
 import pt.up.hs.linguini.exceptions.LinguiniException;
 
+import java.util.concurrent.Executor;
+
 /**
  * Interface for steps of Natural Language Processing.
  *
@@ -15,6 +17,10 @@ default <R> Step<I, R> pipe(Step<O, R> source) {
         return value -> source.execute(execute(value));
     }
 
+    default AsyncStep<I, O> async(Executor executor) {
+        return AsyncStep.of(this, executor);
+    }
+
     static <I, O> Step<I, O> of(Step<I, O> source) {
         return source;
     }
@@ -0,0 +1,15 @@
+package pt.up.hs.linguini.pipeline;
+
+import pt.up.hs.linguini.exceptions.LinguiniException;
+
+/**
+ * Factory of steps, used to create new instances of steps which cannot be
+ * shared between threads.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+@FunctionalInterface
+public interface StepFactory<I, O> {
+
+    Step<I, O> create() throws LinguiniException;
+}
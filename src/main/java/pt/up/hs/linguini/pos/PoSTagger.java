@@ -6,6 +6,7 @@
 import pt.up.hs.linguini.pipeline.Step;
 import pt.up.hs.linguini.models.AnnotatedToken;
 import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.resources.ModelRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,8 +18,6 @@
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class PoSTagger implements Step<List<Token>, List<AnnotatedToken<String>>> {
-    private static final String FILE_PATH_FORMAT =
-            "/%s/models/%s.tagger";
 
     private final Locale locale;
 
@@ -26,15 +25,7 @@ public class PoSTagger implements Step<List<Token>, List<AnnotatedToken<String>>
 
     public PoSTagger(Locale locale) {
         this.locale = locale;
-        this.maxentTagger = new MaxentTagger(
-                PoSTagger.class.getResourceAsStream(
-                        String.format(
-                                FILE_PATH_FORMAT,
-                                locale.toString(),
-                                locale.toString()
-                        )
-                )
-        );
+        this.maxentTagger = ModelRegistry.getTagger(locale);
     }
 
     /**
@@ -0,0 +1,94 @@
+package pt.up.hs.linguini.resources;
+
+import pt.up.hs.linguini.models.Replacement;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable set of replacements read from a resource, together with the
+ * compiled regular expressions of their targets, prefixes, suffixes, tags
+ * and exceptions. Instances are shared by every component that loads the
+ * same resource, so the {@link Replacement}s returned must not be modified.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public final class CompiledReplacements {
+
+    private final Replacement[] replacements;
+    private final Replacement[] sortedReplacements;
+
+    private final ConcurrentMap<String, Pattern> patterns =
+            new ConcurrentHashMap<>();
+
+    CompiledReplacements(Replacement[] replacements) {
+        this.replacements = replacements;
+        this.sortedReplacements = replacements.clone();
+        Arrays.sort(sortedReplacements);
+
+        for (Replacement replacement: replacements) {
+            String prefix = replacement.getPrefix();
+            String target = replacement.getTarget();
+            String suffix = replacement.getSuffix();
+            pattern(prefix);
+            pattern(suffix);
+            pattern(replacement.getTag());
+            pattern(replacement.getExceptions());
+            pattern(target);
+            pattern(prefix + target);
+            pattern(target + suffix);
+            pattern(prefix + target + suffix);
+        }
+    }
+
+    /**
+     * Compile a set of replacements. The replacements are copied.
+     *
+     * @param replacements {@link Replacement[]} replacements, in file order
+     * @return {@link CompiledReplacements} compiled replacements
+     */
+    public static CompiledReplacements of(Replacement[] replacements) {
+        Replacement[] copy = new Replacement[replacements.length];
+        for (int i = 0; i < replacements.length; i++) {
+            copy[i] = replacements[i].clone();
+        }
+        return new CompiledReplacements(copy);
+    }
+
+    /**
+     * Get the replacements in the order of the file.
+     *
+     * @return {@link Replacement[]} new array with the shared replacements
+     */
+    public Replacement[] getReplacements() {
+        return replacements.clone();
+    }
+
+    /**
+     * Get the replacements sorted by their natural order, i.e., the most
+     * specific first.
+     *
+     * @return {@link Replacement[]} new array with the shared replacements
+     */
+    public Replacement[] getSortedReplacements() {
+        return sortedReplacements.clone();
+    }
+
+    public int size() {
+        return replacements.length;
+    }
+
+    /**
+     * Get the compiled pattern of a regular expression. Patterns of the
+     * replacements are compiled when these are loaded, any other is compiled
+     * once on first use.
+     *
+     * @param regex {@link String} regular expression
+     * @return {@link Pattern} compiled pattern
+     */
+    public Pattern pattern(String regex) {
+        return patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+}
@@ -0,0 +1,203 @@
+package pt.up.hs.linguini.resources;
+
+import pt.up.hs.linguini.dictionaries.CompactDictionary;
+import pt.up.hs.linguini.resources.exceptions.ResourceFormatException;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parser of DELAF dictionary files. The file is split in byte ranges on
+ * line boundaries, which are parsed concurrently into separate
+ * {@link CompactDictionary.Builder}s and merged as the tasks join.
+ *
+ * Lines have the format {@code form,lemma.POS[+subcategory][:attributes]}.
+ * Each line is scanned once to find its separators.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+class DELAFParser {
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private DELAFParser() {
+    }
+
+    /**
+     * Parse the content of a dictionary file.
+     *
+     * @param data    {@code byte[]} content of the file
+     * @param charset {@link Charset} charset of the file, compatible with
+     *                ASCII (line breaks must be single bytes)
+     * @return {@link CompactDictionary.Builder} builder with the entries
+     * @throws ResourceFormatException if some line is not a valid entry
+     */
+    static CompactDictionary.Builder parse(byte[] data, Charset charset)
+            throws ResourceFormatException {
+        try {
+            return ForkJoinPool.commonPool()
+                    .invoke(new ChunkTask(data, charset, 0, data.length));
+        } catch (ChunkFormatException e) {
+            // line numbers are relative to the chunk
+            int line = e.line;
+            for (int i = 0; i < e.chunkStart; i++) {
+                if (data[i] == '\n') {
+                    line++;
+                }
+            }
+            throw new ResourceFormatException(line);
+        }
+    }
+
+    /**
+     * Parse a line of a DELAF dictionary.
+     *
+     * @param line       {@link String} the line, trimmed
+     * @param lineNumber {@code int} number of the line
+     * @return {@code String[]} inflected form, lemma, PoS tag, subcategory
+     *      and morphological attributes
+     * @throws ResourceFormatException if the line is not a valid entry
+     */
+    static String[] parseLine(String line, int lineNumber)
+            throws ResourceFormatException {
+
+        int comma = -1;
+        int dot = -1;
+        int plus = -1;
+        int colon = -1;
+        for (int i = 0; i < line.length(); i++) {
+            switch (line.charAt(i)) {
+                case ',':
+                    if (comma < 0) comma = i;
+                    break;
+                case '.':
+                    if (dot < 0) dot = i;
+                    break;
+                case '+':
+                    if (plus < 0) plus = i;
+                    break;
+                case ':':
+                    if (colon < 0) colon = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (comma < 0 || dot <= comma + 1 || dot + 1 >= line.length()
+                || (plus >= 0 && plus <= dot)
+                || (colon >= 0 && colon <= dot)
+                || (plus >= 0 && colon >= 0 && colon < plus)) {
+            throw new ResourceFormatException(lineNumber);
+        }
+
+        String word = line.substring(0, comma);
+        String lemma = line.substring(comma + 1, dot);
+
+        String pos;
+        if (plus >= 0) {
+            pos = line.substring(dot + 1, plus);
+        } else if (colon >= 0) {
+            pos = line.substring(dot + 1, colon);
+        } else {
+            pos = line.substring(dot + 1);
+        }
+
+        String subcategory = null;
+        if (plus >= 0) {
+            if (colon >= 0) {
+                subcategory = line.substring(plus + 1, colon);
+            } else {
+                subcategory = line.substring(plus);
+            }
+        }
+
+        String morphAttributes = null;
+        if (colon >= 0) {
+            morphAttributes = line.substring(colon + 1);
+        }
+
+        return new String[] { word, lemma, pos, subcategory, morphAttributes };
+    }
+
+    private static CompactDictionary.Builder parseChunk(
+            byte[] data, Charset charset, int from, int to) {
+        CompactDictionary.Builder builder = new CompactDictionary.Builder();
+        String text = new String(data, from, to - from, charset);
+
+        int lineNumber = 0;
+        int start = 0;
+        while (start < text.length()) {
+            int end = start;
+            while (end < text.length()
+                    && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+                end++;
+            }
+            lineNumber++;
+
+            String line = text.substring(start, end).trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                try {
+                    String[] fields = parseLine(line, lineNumber);
+                    builder.add(fields[0], fields[1], fields[2], fields[3], fields[4]);
+                } catch (ResourceFormatException e) {
+                    throw new ChunkFormatException(from, lineNumber);
+                }
+            }
+
+            if (end < text.length() && text.charAt(end) == '\r') {
+                end++;
+            }
+            if (end < text.length() && text.charAt(end) == '\n') {
+                end++;
+            }
+            start = end;
+        }
+        return builder;
+    }
+
+    private static class ChunkTask extends RecursiveTask<CompactDictionary.Builder> {
+        private final byte[] data;
+        private final Charset charset;
+        private final int from;
+        private final int to;
+
+        ChunkTask(byte[] data, Charset charset, int from, int to) {
+            this.data = data;
+            this.charset = charset;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CompactDictionary.Builder compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return parseChunk(data, charset, from, to);
+            }
+            // split after a line break
+            int middle = from + (to - from) / 2;
+            while (middle < to && data[middle - 1] != '\n') {
+                middle++;
+            }
+            if (middle >= to) {
+                return parseChunk(data, charset, from, to);
+            }
+            ChunkTask left = new ChunkTask(data, charset, from, middle);
+            left.fork();
+            CompactDictionary.Builder right =
+                    new ChunkTask(data, charset, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static class ChunkFormatException extends RuntimeException {
+        private final int chunkStart;
+        private final int line;
+
+        ChunkFormatException(int chunkStart, int line) {
+            super(null, null, false, false);
+            this.chunkStart = chunkStart;
+            this.line = line;
+        }
+    }
+}
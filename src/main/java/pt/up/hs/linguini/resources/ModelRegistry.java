@@ -0,0 +1,159 @@
+package pt.up.hs.linguini.resources;
+
+import edu.stanford.nlp.parser.nndep.DependencyParser;
+import edu.stanford.nlp.tagger.maxent.MaxentTagger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide registry of the statistical models used by the library. Each
+ * model is loaded lazily, once per locale, by the first thread requesting it.
+ * Concurrent requests for the same model wait for that load and then share
+ * the same instance.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public final class ModelRegistry {
+    private static final String TAGGER_FILE_PATH_FORMAT =
+            "/%s/models/%s.tagger";
+    private static final String DEP_PARSER_FILE_PATH_FORMAT =
+            "%s/models/%s.depparser.txt.gz";
+
+    private static final Logger LOG = Logger.getLogger(ModelRegistry.class.getName());
+
+    private static final LocaleModels<MaxentTagger> taggers =
+            new LocaleModels<>(ModelRegistry::loadTagger);
+    private static final LocaleModels<DependencyParser> depParsers =
+            new LocaleModels<>(ModelRegistry::loadDependencyParser);
+
+    private ModelRegistry() {
+    }
+
+    /**
+     * Get the Part-of-Speech tagger model of a locale, loading it if needed.
+     *
+     * @param locale {@link Locale} locale of the model.
+     * @return {@link MaxentTagger} shared tagger model.
+     */
+    public static MaxentTagger getTagger(Locale locale) {
+        return taggers.get(locale);
+    }
+
+    /**
+     * Get the dependency parser model of a locale, loading it if needed.
+     *
+     * @param locale {@link Locale} locale of the model.
+     * @return {@link DependencyParser} shared dependency parser model.
+     */
+    public static DependencyParser getDependencyParser(Locale locale) {
+        return depParsers.get(locale);
+    }
+
+    /**
+     * Load every model of a locale, if not loaded yet.
+     *
+     * @param locale {@link Locale} locale of the models.
+     */
+    public static void preload(Locale locale) {
+        taggers.get(locale);
+        depParsers.get(locale);
+    }
+
+    /**
+     * Release every model of a locale. Components already holding a model
+     * keep using it, but new requests load it again.
+     *
+     * @param locale {@link Locale} locale of the models.
+     */
+    public static void unload(Locale locale) {
+        taggers.remove(locale);
+        depParsers.remove(locale);
+    }
+
+    /**
+     * Release the models of every locale.
+     */
+    public static void unloadAll() {
+        taggers.clear();
+        depParsers.clear();
+    }
+
+    private static MaxentTagger loadTagger(Locale locale) {
+        LOG.info("Loading PoS tagger model for " + locale);
+        return new MaxentTagger(
+                ModelRegistry.class.getResourceAsStream(
+                        String.format(
+                                TAGGER_FILE_PATH_FORMAT,
+                                locale.toString(),
+                                locale.toString()
+                        )
+                )
+        );
+    }
+
+    private static DependencyParser loadDependencyParser(Locale locale) {
+        LOG.info("Loading dependency parser model for " + locale);
+        return DependencyParser.loadFromModelFile(
+                String.format(
+                        DEP_PARSER_FILE_PATH_FORMAT,
+                        locale.toString(),
+                        locale.toString()
+                )
+        );
+    }
+
+    /**
+     * Models of a kind, indexed by locale.
+     *
+     * @param <M> type of model
+     */
+    private static class LocaleModels<M> {
+
+        private final Function<Locale, M> loader;
+        private final Map<Locale, FutureTask<M>> models = new ConcurrentHashMap<>();
+
+        LocaleModels(Function<Locale, M> loader) {
+            this.loader = loader;
+        }
+
+        M get(Locale locale) {
+            FutureTask<M> model = models.get(locale);
+            if (model == null) {
+                FutureTask<M> task = new FutureTask<>(() -> loader.apply(locale));
+                model = models.putIfAbsent(locale, task);
+                if (model == null) {
+                    model = task;
+                    task.run();
+                }
+            }
+
+            try {
+                return model.get();
+            } catch (ExecutionException e) {
+                // allow a later request to retry
+                models.remove(locale, model);
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Could not load model for " + locale, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading model for " + locale, e);
+            }
+        }
+
+        void remove(Locale locale) {
+            models.remove(locale);
+        }
+
+        void clear() {
+            models.clear();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package pt.up.hs.linguini.resources;
+
+import java.util.Set;
+
+/**
+ * Listener of changes to the resources in the override directory of
+ * {@link ResourceLoader}. When it is called, the cached copies of the
+ * changed resources are already discarded, so reading them again gets the
+ * new content.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+@FunctionalInterface
+public interface ResourceListener {
+
+    /**
+     * Handle changed resources. Called from a background thread.
+     *
+     * @param paths {@link Set} paths of the changed resources, as used to
+     *              read them (e.g., {@code /pt_PT/replacements/clitics.json})
+     */
+    void resourcesChanged(Set<String> paths);
+}
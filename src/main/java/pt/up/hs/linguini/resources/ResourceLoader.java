@@ -1,8 +1,10 @@
 package pt.up.hs.linguini.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import pt.up.hs.linguini.caching.InMemoryCache;
 import pt.up.hs.linguini.data.DELAFEntry;
+import pt.up.hs.linguini.dictionaries.CompactDictionary;
 import pt.up.hs.linguini.models.Emotion;
 import pt.up.hs.linguini.models.Replacement;
 import pt.up.hs.linguini.models.Replacements;
@@ -11,29 +13,262 @@
 import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
- * Utilities to read files.
+ * Utilities to read files. Resources are read from the classpath, unless
+ * a file with the same path exists in the override directory (if any).
+ * Changes to the override directory are watched, and the cached copies of
+ * changed resources are discarded before notifying the
+ * {@link ResourceListener}s.
  *
  * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
  */
 public class ResourceLoader {
+    private static final Logger LOG = Logger.getLogger(ResourceLoader.class.getName());
+
+    private static volatile Path overrideDirectory;
+    private static ResourceWatcher watcher;
+
+    // held weakly, so that listening does not keep components alive
+    private static final Set<ResourceListener> listeners =
+            Collections.newSetFromMap(new WeakHashMap<>());
+
     private final static InMemoryCache<String, List<String>> stopwordsCache =
             new InMemoryCache<>(0, 3600, 20);
-    /*private final static InMemoryCache<String, Replacement[]> replacementsCache =
-            new InMemoryCache<>(0, 3600, 100);*/
+    private final static InMemoryCache<String, CompiledReplacements> replacementsCache =
+            new InMemoryCache<>(0, 3600, 100);
+    private final static Map<String, FutureTask<CompiledReplacements>> replacementsLoads =
+            new ConcurrentHashMap<>();
+    private final static ObjectReader replacementsReader =
+            new ObjectMapper().readerFor(Replacements.class);
     /*private final static InMemoryCache<String, Map<String, WordRankingEntry>> wordRankingCache =
             new InMemoryCache<>(0, 3600, 20);*/
-    private final static InMemoryCache<String, Map<String, HashSet<DELAFEntry>>> dictionaryCache =
+    private final static InMemoryCache<String, CompactDictionary> compactDictionaryCache =
             new InMemoryCache<>(0, 3600, 20);
+    private final static Map<String, FutureTask<CompactDictionary>> compactDictionaryLoads =
+            new ConcurrentHashMap<>();
     private static final InMemoryCache<String, Map<String, List<Emotion>>> emotaixCache =
             new InMemoryCache<>(0, 3600, 20);
 
+    /**
+     * Set the directory whose files override the resources with the same
+     * path (e.g., {@code <directory>/pt_PT/replacements/clitics.json}
+     * overrides {@code /pt_PT/replacements/clitics.json}), and watch it for
+     * changes. Every cached resource is discarded.
+     *
+     * @param directory {@link Path} override directory (or {@code null} to
+     *                  read only from the classpath)
+     * @throws ResourceLoadingException if the directory cannot be watched
+     */
+    public static synchronized void setOverrideDirectory(Path directory)
+            throws ResourceLoadingException {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to stop watching resources", e);
+            }
+            watcher = null;
+        }
+        overrideDirectory = directory;
+        clearCaches();
+        if (directory != null) {
+            try {
+                watcher = new ResourceWatcher(directory, ResourceLoader::resourcesChanged);
+            } catch (IOException e) {
+                throw new ResourceLoadingException("Watching " + directory, e);
+            }
+        }
+    }
+
+    public static Path getOverrideDirectory() {
+        return overrideDirectory;
+    }
+
+    /**
+     * Add a listener of changes to the resources in the override directory.
+     * The listener is only weakly referenced, so it must be kept reachable
+     * by whoever adds it.
+     *
+     * @param listener {@link ResourceListener} the listener
+     */
+    public static void addResourceListener(ResourceListener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+        }
+    }
+
+    public static void removeResourceListener(ResourceListener listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    private static void resourcesChanged(Set<String> paths) {
+        LOG.info("Resources changed: " + paths);
+        for (String p : paths) {
+            discard(p);
+        }
+
+        ResourceListener[] current;
+        synchronized (listeners) {
+            current = listeners.toArray(new ResourceListener[0]);
+        }
+        for (ResourceListener listener : current) {
+            try {
+                listener.resourcesChanged(paths);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to reload resources " + paths, e);
+            }
+        }
+    }
+
+    private static void discard(String p) {
+        synchronized (stopwordsCache) {
+            stopwordsCache.remove(p);
+        }
+        replacementsLoads.remove(p);
+        replacementsCache.remove(p);
+        compactDictionaryLoads.keySet().removeIf(key -> containsPath(key, p));
+        for (String key : compactDictionaryCache.asMap().keySet()) {
+            if (containsPath(key, p)) {
+                compactDictionaryCache.remove(key);
+            }
+        }
+        synchronized (emotaixCache) {
+            emotaixCache.remove(p);
+        }
+    }
+
+    private static boolean containsPath(String key, String p) {
+        return Arrays.asList(key.split(File.pathSeparator)).contains(p);
+    }
+
+    private static void clearCaches() {
+        synchronized (stopwordsCache) {
+            stopwordsCache.clear();
+        }
+        replacementsLoads.clear();
+        replacementsCache.clear();
+        compactDictionaryLoads.clear();
+        compactDictionaryCache.clear();
+        synchronized (emotaixCache) {
+            emotaixCache.clear();
+        }
+    }
+
+    /**
+     * Get a cached resource, loading it if needed. Each key is loaded by the
+     * first thread requesting it, while concurrent requests for the same
+     * key wait for that load and requests for other keys proceed. A load
+     * whose key is discarded meanwhile is returned to its callers, but not
+     * cached.
+     *
+     * @param cache  {@link InMemoryCache} cache of the loaded resources
+     * @param loads  {@link Map} loads in progress, by key
+     * @param key    {@link String} key of the resource
+     * @param loader {@link ResourceSupplier} loader of the resource
+     * @param <T>    type of resource
+     * @return the resource
+     * @throws ResourceLoadingException if an exception occurs while
+     *      loading the resource
+     */
+    private static <T> T load(
+            InMemoryCache<String, T> cache, Map<String, FutureTask<T>> loads,
+            String key, ResourceSupplier<T> loader)
+            throws ResourceLoadingException {
+        T resource = cache.get(key);
+        if (resource != null) {
+            return resource;
+        }
+
+        FutureTask<T> load = loads.get(key);
+        if (load == null) {
+            FutureTask<T> task = new FutureTask<>(() -> {
+                T loaded = cache.get(key);
+                return loaded != null ? loaded : loader.load();
+            });
+            load = loads.putIfAbsent(key, task);
+            if (load == null) {
+                load = task;
+                task.run();
+                publish(cache, loads, key, task);
+            }
+        }
+
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            // allow a later request to retry
+            loads.remove(key, load);
+            if (e.getCause() instanceof ResourceLoadingException) {
+                throw (ResourceLoadingException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ResourceLoadingException("Loading " + key, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceLoadingException("Interrupted while loading " + key, e);
+        }
+    }
+
+    private static <T> void publish(
+            InMemoryCache<String, T> cache, Map<String, FutureTask<T>> loads,
+            String key, FutureTask<T> task) {
+        T resource;
+        try {
+            resource = task.get();
+        } catch (ExecutionException | InterruptedException e) {
+            return;
+        }
+        cache.put(key, resource);
+        if (!loads.remove(key, task)) {
+            // discarded while loading
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Open a resource, from the override directory if it has a file with
+     * the same path, or else from the classpath.
+     *
+     * @param p {@link String} path to the resource.
+     * @return {@link InputStream} stream of the resource, or {@code null}
+     *      if it does not exist
+     * @throws ResourceLoadingException if the overriding file cannot be
+     *      opened
+     */
+    private static InputStream open(String p) throws ResourceLoadingException {
+        Path directory = overrideDirectory;
+        if (directory != null) {
+            Path file = directory.resolve(p.startsWith("/") ? p.substring(1) : p);
+            if (Files.isRegularFile(file)) {
+                try {
+                    return Files.newInputStream(file);
+                } catch (IOException e) {
+                    throw new ResourceLoadingException("Reading " + file, e);
+                }
+            }
+        }
+        return ResourceLoader.class.getResourceAsStream(p);
+    }
+
     /**
      * Read stopwords from a {@link String} path.
      *
@@ -47,8 +282,7 @@ public static List<String> readStopwords(String p)
         List<String> stopwords;
         synchronized (stopwordsCache) {
             if ((stopwords = stopwordsCache.get(p)) == null) {
-                stopwords = readStopwords(
-                        ResourceLoader.class.getResourceAsStream(p));
+                stopwords = readStopwords(open(p));
                 stopwordsCache.put(p, stopwords);
             }
         }
@@ -90,38 +324,56 @@ private static List<String> readStopwords(InputStream is)
      */
     public static Replacement[] readReplacements(String p)
             throws ResourceLoadingException {
-        /*Replacement[] replacements;
-        synchronized (replacementsCache) {
-            if ((replacements = replacementsCache.get(p)) == null) {
-                replacements = readReplacements(
-                        ResourceLoader.class.getResourceAsStream(p));
-                // replacementsCache.put(p, replacements);
+        Replacement[] shared = readCompiledReplacements(p).getReplacements();
+        Replacement[] replacements = new Replacement[shared.length];
+        for (int i = 0; i < shared.length; i++) {
+            replacements[i] = shared[i].clone();
+        }
+        return replacements;
+    }
+
+    /**
+     * Read compiled replacements from a {@link String} path. Each file is
+     * read and compiled once, and the result is shared by every caller.
+     *
+     * @param p {@link String} path to a replacements file.
+     * @return {@link CompiledReplacements} replacements read
+     * @throws ResourceLoadingException if an exception occurs while
+     *      reading replacements
+     */
+    public static CompiledReplacements readCompiledReplacements(String p)
+            throws ResourceLoadingException {
+        return load(replacementsCache, replacementsLoads, p, () -> {
+            InputStream is = open(p);
+            if (is == null) {
+                throw new ResourceLoadingException(
+                        "Replacements not found: " + p);
             }
-        }*/
-        return readReplacements(
-                ResourceLoader.class.getResourceAsStream(p));
+            return readReplacements(is);
+        });
     }
 
     /**
      * Read replacements from an {@link InputStream} stream.
      *
      * @param is {@link InputStream} input stream from a replacements file.
-     * @return {@link Replacement[]} replacements read
+     * @return {@link CompiledReplacements} replacements read
      * @throws ResourceLoadingException if an exception occurs while reading
      *                                  replacements
      */
-    private static Replacement[] readReplacements(InputStream is)
+    private static CompiledReplacements readReplacements(InputStream is)
             throws ResourceLoadingException {
 
         Replacements replacements;
-        try {
-            replacements = new ObjectMapper().readValue(is, Replacements.class);
-            is.close();
+        try (InputStream in = is) {
+            replacements = replacementsReader.readValue(in);
         } catch (IOException e) {
             throw new ResourceLoadingException("Reading replacements", e);
         }
 
-        return replacements.getReplacements();
+        Replacement[] array = replacements.getReplacements();
+        return new CompiledReplacements(
+                array == null ? new Replacement[0] : array);
     }
 
     /**
@@ -196,24 +448,24 @@ private static Map<String, WordRankingEntry> readWordRankingEntries(
     }
 
     /**
-     * Read dictionary from a {@link String} path.
+     * Read dictionary from a {@link String} path. The file is parsed on
+     * every call, into entries owned by the caller.
      *
      * @param p {@link String} path to a dictionary file.
-     * @return {@link Map} dictionary entries indexed by word's inflected form.
+     * @return {@link Map} dictionary entries indexed by word's inflected form
      * @throws ResourceLoadingException if an exception occurs while
      *      reading dictionary entries
+     * @deprecated dictionaries share a {@link CompactDictionary}, read with
+     *      {@link #readCompactDictionary(String...)}
      */
+    @Deprecated
     public static Map<String, HashSet<DELAFEntry>> readDictionaryEntries(
             String p) throws ResourceLoadingException {
-        Map<String, HashSet<DELAFEntry>> dictionaryEntries;
-        synchronized (dictionaryCache) {
-            if ((dictionaryEntries = dictionaryCache.get(p)) == null) {
-                dictionaryEntries = readDictionaryEntries(
-                        ResourceLoader.class.getResourceAsStream(p));
-                dictionaryCache.put(p, dictionaryEntries);
-            }
+        InputStream is = open(p);
+        if (is == null) {
+            throw new ResourceLoadingException("Dictionary not found: " + p);
         }
-        return dictionaryEntries;
+        return readDictionaryEntries(is);
     }
 
     /**
@@ -243,51 +495,16 @@ private static Map<String, HashSet<DELAFEntry>> readDictionaryEntries(
                 if (line.isEmpty() || line.startsWith("#"))
                     continue;
 
-                if (line.contains(",") && line.contains(".")
-                        && (line.indexOf(".") > line.indexOf(",") + 1)
-                        && (line.indexOf(".") + 1 < line.length())
-                        && (((line.charAt(line.indexOf(".") + 1)) != ':')
-                        || (line.charAt(line.indexOf(".") + 1)) != '+')) {
-
-                    String word = line.substring(0, line.indexOf(","));
-                    String lemma = line.substring(line.indexOf(",") + 1, line.indexOf("."));
-
-                    String pos;
-                    if (line.contains("+")) {
-                        pos = line.substring(line.indexOf(".") + 1,
-                                line.indexOf("+"));
-                    } else if (line.contains(":")) {
-                        pos = line.substring(line.indexOf(".") + 1,
-                                line.indexOf(":"));
-                    } else {
-                        pos = line.substring(line.indexOf(".") + 1);
-                    }
-
-                    String subcategory = null;
-                    if (line.contains("+")) {
-                        if (line.contains(":")) {
-                            subcategory = line.substring(line.indexOf("+") + 1,
-                                    line.indexOf(":"));
-                        } else {
-                            subcategory = line.substring(line.indexOf("+"));
-                        }
-                    }
-
-                    String morphAttributes = null;
-                    if (line.contains(":")) {
-                        morphAttributes = line.substring(line.indexOf(":") + 1);
-                    }
+                String[] fields = DELAFParser.parseLine(line, lineNumber);
 
-                    HashSet<DELAFEntry> entrySet =
-                            dictionary.get(word);
-                    if (entrySet == null) {
-                        entrySet = new HashSet<>();
-                    }
-                    entrySet.add(new DELAFEntry(word, lemma, pos, subcategory, morphAttributes));
-                    dictionary.put(word, entrySet);
-                } else {
-                    throw new ResourceFormatException(lineNumber);
+                HashSet<DELAFEntry> entrySet =
+                        dictionary.get(fields[0]);
+                if (entrySet == null) {
+                    entrySet = new HashSet<>();
                 }
+                entrySet.add(new DELAFEntry(
+                        fields[0], fields[1], fields[2], fields[3], fields[4]));
+                dictionary.put(fields[0], entrySet);
             }
         } catch (IOException e) {
             throw new ResourceLoadingException(e);
@@ -296,6 +513,53 @@ private static Map<String, HashSet<DELAFEntry>> readDictionaryEntries(
         return dictionary;
     }
 
+    /**
+     * Read a compact dictionary from {@link String} paths. The entries of
+     * all the files are merged in a single dictionary, which is cached and
+     * shared by everyone that reads the same files.
+     *
+     * @param paths {@link String} paths to dictionary files.
+     * @return {@link CompactDictionary} dictionary of all the files
+     * @throws ResourceLoadingException if an exception occurs while
+     *      reading dictionary entries
+     */
+    public static CompactDictionary readCompactDictionary(String... paths)
+            throws ResourceLoadingException {
+        String key = String.join(File.pathSeparator, paths);
+        return load(compactDictionaryCache, compactDictionaryLoads, key, () -> {
+            CompactDictionary.Builder builder = new CompactDictionary.Builder();
+            for (String p: paths) {
+                readDictionaryEntries(open(p), builder);
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Read dictionary entries from an {@link InputStream} stream into a
+     * compact dictionary builder.
+     *
+     * @param is      {@link InputStream} input stream of a dictionary file.
+     * @param builder {@link CompactDictionary.Builder} builder to add the
+     *                entries to
+     * @throws ResourceLoadingException if an exception occurs while
+     *      reading dictionary entries
+     */
+    public static void readDictionaryEntries(
+            InputStream is, CompactDictionary.Builder builder)
+            throws ResourceLoadingException {
+
+        if (is == null) {
+            throw new ResourceLoadingException("Dictionary not found.");
+        }
+
+        try (InputStream in = is) {
+            builder.merge(DELAFParser.parse(in.readAllBytes(), Charset.defaultCharset()));
+        } catch (IOException e) {
+            throw new ResourceLoadingException(e);
+        }
+    }
+
     /**
      * Read emotaix entries from a {@link String} path.
      *
@@ -309,8 +573,7 @@ public static Map<String, List<Emotion>> readEmotaixEntries(String p)
         Map<String, List<Emotion>> entries;
         synchronized (emotaixCache) {
             if ((entries = emotaixCache.get(p)) == null) {
-                entries = readEmotaixEntries(
-                        ResourceLoader.class.getResourceAsStream(p));
+                entries = readEmotaixEntries(open(p));
                 emotaixCache.put(p, entries);
             }
         }
@@ -361,6 +624,26 @@ private static Map<String, List<Emotion>> readEmotaixEntries(InputStream is)
         }
     }
 
+    /**
+     * Read a whole text file from a {@link String} path.
+     *
+     * @param p {@link String} path to a text file.
+     * @return {@link String} text read
+     * @throws ResourceLoadingException if an exception occurs while
+     *      reading the text
+     */
+    public static String readText(String p) throws ResourceLoadingException {
+        InputStream is = open(p);
+        if (is == null) {
+            throw new ResourceLoadingException("Resource not found: " + p);
+        }
+        try {
+            return String.join("\n", readAllLines(is));
+        } catch (IOException e) {
+            throw new ResourceLoadingException("Reading text", e);
+        }
+    }
+
     private static List<String> readAllLines(InputStream is)
             throws IOException {
 
@@ -376,4 +659,14 @@ private static List<String> readAllLines(InputStream is)
         }
         return lines;
     }
+
+    /**
+     * Loader of a resource.
+     *
+     * @param <T> type of resource
+     */
+    @FunctionalInterface
+    private interface ResourceSupplier<T> {
+        T load() throws ResourceLoadingException;
+    }
 }
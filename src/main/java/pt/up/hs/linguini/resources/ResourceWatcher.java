@@ -0,0 +1,161 @@
+package pt.up.hs.linguini.resources;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watcher of a directory tree of resources. Changes are collected until the
+ * tree is quiet for a while, so that a file written in several steps is
+ * reported once, and then reported as resource paths relative to the root
+ * of the tree. Only files with the extension of a resource are reported, so
+ * temporary files of editors or of atomic writes are ignored. The action
+ * runs in the single daemon thread of the watcher.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+class ResourceWatcher implements Closeable {
+    private static final long QUIET_PERIOD = 200; // milliseconds
+
+    private static final Set<String> RESOURCE_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "json", "xml", "dic", "txt", "csv", "properties", "tagger", "gz"));
+
+    private static final Logger LOG = Logger.getLogger(ResourceWatcher.class.getName());
+
+    private final Path root;
+    private final WatchService service;
+    private final Consumer<Set<String>> action;
+    private final Thread thread;
+
+    /**
+     * Start watching a directory tree.
+     *
+     * @param root   {@link Path} root of the tree
+     * @param action {@link Consumer} action to call with the paths of the
+     *               changed resources
+     * @throws IOException if the tree cannot be watched
+     */
+    ResourceWatcher(Path root, Consumer<Set<String>> action) throws IOException {
+        this.root = root.toAbsolutePath();
+        this.service = this.root.getFileSystem().newWatchService();
+        this.action = action;
+        registerTree(this.root, null);
+
+        thread = new Thread(this::run, "linguini-resource-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Watch the directories of a tree.
+     *
+     * @param directory {@link Path} root of the tree
+     * @param changed   {@link Set} set to add the resources already in the
+     *                  tree to (or {@code null} to ignore them)
+     * @throws IOException if the tree cannot be watched
+     */
+    private void registerTree(Path directory, Set<String> changed) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                    throws IOException {
+                dir.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (changed != null && attrs.isRegularFile()) {
+                    addResource(file, changed);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void addResource(Path file, Set<String> changed) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (name.startsWith(".") || dot < 0
+                || !RESOURCE_EXTENSIONS.contains(name.substring(dot + 1))) {
+            return;
+        }
+        StringBuilder path = new StringBuilder();
+        for (Path element : root.relativize(file)) {
+            path.append('/').append(element);
+        }
+        changed.add(path.toString());
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<String> changed = new TreeSet<>();
+                do {
+                    collect(key, changed);
+                    key = service.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                if (!changed.isEmpty()) {
+                    try {
+                        action.accept(changed);
+                    } catch (RuntimeException e) {
+                        LOG.log(Level.WARNING, "Failed to handle changed resources " + changed, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                LOG.warning("Lost changes to resources in " + directory);
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(file)) {
+                // files may have been created before the directory is watched
+                try {
+                    registerTree(file, changed);
+                } catch (IOException e) {
+                    LOG.log(Level.WARNING, "Failed to watch " + file, e);
+                }
+                continue;
+            }
+            addResource(file, changed);
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+        thread.interrupt();
+    }
+}
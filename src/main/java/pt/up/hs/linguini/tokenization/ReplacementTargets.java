@@ -0,0 +1,155 @@
+package pt.up.hs.linguini.tokenization;
+
+import pt.up.hs.linguini.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Index of the targets of a sorted array of replacements, each matched
+ * against a whole (lowercase) word as {@code head + target}. Literal
+ * targets are looked up by the suffix of the word with their length, and
+ * only the head regular expression is matched against the rest of the
+ * word, so finding the replacement of a word costs the number of distinct
+ * target lengths rather than the number of replacements. Any other target
+ * is matched with its compiled pattern, in the order of the replacements.
+ *
+ * Instances are immutable and can be shared by any number of threads.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+final class ReplacementTargets {
+    // indices of the replacements of each literal target, in ascending order
+    private final Map<String, int[]> literals;
+
+    // distinct lengths of the literal targets, in ascending order
+    private final int[] lengths;
+
+    // pattern of the head of each replacement (null if it must be empty)
+    private final Pattern[] heads;
+
+    // whether every literal target must match the whole word
+    private final boolean wholeWords;
+
+    // indices of the replacements with non-literal targets, in ascending order
+    private final int[] others;
+    private final Pattern[] patterns;
+
+    /**
+     * Index the targets of some replacements.
+     *
+     * @param heads    {@link String[]} regular expression of the head of each
+     *                 replacement
+     * @param targets  {@link String[]} target of each replacement
+     * @param patterns {@link Function} compiler of the regular expressions
+     */
+    ReplacementTargets(String[] heads, String[] targets,
+                       Function<String, Pattern> patterns) {
+        this.heads = new Pattern[targets.length];
+        this.patterns = new Pattern[targets.length];
+
+        Map<String, List<Integer>> literalIndices = new HashMap<>();
+        TreeSet<Integer> literalLengths = new TreeSet<>();
+        List<Integer> otherIndices = new ArrayList<>();
+        for (int i = 0; i < targets.length; i++) {
+            boolean literal = isLiteral(targets[i]);
+            if (literal && !heads[i].isEmpty()) {
+                this.heads[i] = head(heads[i], patterns);
+                literal = this.heads[i] != null;
+            }
+            if (literal) {
+                literalIndices.computeIfAbsent(targets[i], k -> new ArrayList<>()).add(i);
+                literalLengths.add(targets[i].length());
+            } else {
+                this.patterns[i] = patterns.apply(heads[i] + targets[i]);
+                otherIndices.add(i);
+            }
+        }
+
+        literals = new HashMap<>(literalIndices.size() * 4 / 3 + 1);
+        for (Map.Entry<String, List<Integer>> entry : literalIndices.entrySet()) {
+            literals.put(entry.getKey(), entry.getValue().stream()
+                    .mapToInt(Integer::intValue).toArray());
+        }
+        wholeWords = Arrays.stream(this.heads).allMatch(Objects::isNull);
+        lengths = literalLengths.stream().mapToInt(Integer::intValue).toArray();
+        others = otherIndices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compile the head of a replacement with a literal target, if matching
+     * {@code head + target} is the same as matching the head against what
+     * precedes the target (see {@link RegexUtils#isSeparablePrefix(String)}).
+     *
+     * @return {@link Pattern} compiled head, or {@code null} if the target
+     *      must be matched with the whole regular expression
+     */
+    private static Pattern head(String head, Function<String, Pattern> patterns) {
+        if (!RegexUtils.isSeparablePrefix(head)) {
+            return null;
+        }
+        try {
+            return patterns.apply(head);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static boolean isLiteral(String target) {
+        return !target.isEmpty() && RegexUtils.isLiteral(target);
+    }
+
+    /**
+     * Find the first replacement, starting at an index, whose target
+     * matches a word.
+     *
+     * @param word {@link String} the word, in lowercase
+     * @param from {@code int} index of the first replacement to consider
+     * @return {@code int} index of the replacement, or -1 if none matches
+     */
+    int find(String word, int from) {
+        int found = Integer.MAX_VALUE;
+        for (int length : lengths) {
+            if (length > word.length()) {
+                break;
+            }
+            if (wholeWords && length < word.length()) {
+                continue;
+            }
+            int[] indices = literals.get(word.substring(word.length() - length));
+            if (indices == null) {
+                continue;
+            }
+            int headEnd = word.length() - length;
+            for (int i : indices) {
+                if (i >= found) {
+                    break;
+                }
+                if (i >= from && (heads[i] == null
+                        ? headEnd == 0
+                        : heads[i].matcher(word.substring(0, headEnd)).matches())) {
+                    found = i;
+                    break;
+                }
+            }
+        }
+        for (int i : others) {
+            if (i >= found) {
+                break;
+            }
+            if (i >= from && patterns[i].matcher(word).matches()) {
+                found = i;
+                break;
+            }
+        }
+        return found == Integer.MAX_VALUE ? -1 : found;
+    }
+}
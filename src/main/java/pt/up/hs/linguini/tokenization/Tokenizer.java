@@ -6,6 +6,8 @@
 import pt.up.hs.linguini.models.Replacement;
 import pt.up.hs.linguini.models.Token;
 import pt.up.hs.linguini.pipeline.Step;
+import pt.up.hs.linguini.resources.CompiledReplacements;
+import pt.up.hs.linguini.resources.ResourceListener;
 import pt.up.hs.linguini.resources.ResourceLoader;
 import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
 import pt.up.hs.linguini.tokenization.exceptions.TokenizationException;
@@ -13,6 +15,9 @@
 
 import java.io.StringReader;
 import java.util.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -30,38 +35,32 @@ public class Tokenizer implements Step<String, List<Token>> {
     private static final String CLITICS_FILE_PATH_FORMAT =
             "/%s/replacements/clitics.json";
 
+    private static final Logger LOG = Logger.getLogger(Tokenizer.class.getName());
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+    private static final Pattern NUMBER_SEPARATOR = Pattern.compile(".*\\d[.,:/]\\d.*");
+
     private final boolean expandTokens;
 
-    private LinkedHashSet<String> abbreviationTargets;
-    private Pattern abbreviationTarget;
-    private Pattern[] contractionTargets;
-    private Pattern[] cliticTargets;
+    // locale of the replacements (null if given explicitly)
+    private final Locale locale;
+
+    // replaced as a whole when the replacements change
+    private volatile Rules rules;
 
-    private final Replacement[] abbreviations;
-    private final Replacement[] contractions;
-    private final Replacement[] clitics;
+    // kept here, as the resource loader only references it weakly
+    private final ResourceListener reloader = this::reload;
 
     public Tokenizer() throws TokenizationException {
         this(Locale.getDefault(), false);
     }
 
     public Tokenizer(Locale locale, boolean expandTokens) throws TokenizationException {
-        try {
-            this.abbreviations = ResourceLoader.readReplacements(
-                    String.format(ABBREV_FILE_PATH_FORMAT, locale.toString())
-            );
-            this.contractions = ResourceLoader.readReplacements(
-                    String.format(CONTRACTIONS_FILE_PATH_FORMAT, locale.toString())
-            );
-            this.clitics = ResourceLoader.readReplacements(
-                    String.format(CLITICS_FILE_PATH_FORMAT, locale.toString())
-            );
-        } catch (ResourceLoadingException e) {
-            throw new TokenizationException("Could not load tokenizer's replacements", e);
-        }
         this.expandTokens = expandTokens;
+        this.locale = locale;
+        this.rules = Rules.load(locale);
 
-        load();
+        ResourceLoader.addResourceListener(reloader);
     }
 
     public Tokenizer(
@@ -71,38 +70,41 @@ public Tokenizer(
             Replacement[] clitics
     ) {
         this.expandTokens = expandTokens;
-        this.abbreviations = abbreviations;
-        this.contractions = contractions;
-        this.clitics = clitics;
+        this.locale = null;
 
-        load();
-    }
-
-    private void load() {
         Arrays.sort(contractions);
         Arrays.sort(clitics);
         Arrays.sort(abbreviations);
+        this.rules = new Rules(abbreviations, contractions, clitics,
+                Pattern::compile, Pattern::compile, Pattern::compile);
+    }
 
-        abbreviationTargets = Arrays.stream(abbreviations)
-                .map(Replacement::getTarget)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-        abbreviationTarget = Pattern.compile(abbreviationTargets.parallelStream()
-                .collect(Collectors.joining("|")));
-        contractionTargets = new Pattern[contractions.length];
-        for (int i = 0; i < contractions.length; i++) {
-            contractionTargets[i] = Pattern.compile(
-                    contractions[i].getTarget());
+    /**
+     * Reload the replacements of this tokenizer, if some of them changed.
+     * Tokenizations in progress finish with the previous ones.
+     *
+     * @param paths {@link Set} paths of the changed resources
+     */
+    private void reload(Set<String> paths) {
+        if (!paths.contains(String.format(ABBREV_FILE_PATH_FORMAT, locale))
+                && !paths.contains(String.format(CONTRACTIONS_FILE_PATH_FORMAT, locale))
+                && !paths.contains(String.format(CLITICS_FILE_PATH_FORMAT, locale))) {
+            return;
         }
-        cliticTargets = new Pattern[clitics.length];
-        for (int i = 0; i < clitics.length; i++) {
-            cliticTargets[i] = Pattern.compile(clitics[i].getPrefix()
-                    + clitics[i].getTarget());
+        try {
+            rules = Rules.load(locale);
+            LOG.info("Reloaded tokenizer replacements of " + locale);
+        } catch (TokenizationException e) {
+            LOG.log(Level.WARNING, "Could not reload tokenizer replacements of "
+                    + locale + ", keeping the previous ones", e);
         }
     }
 
     @Override
     public List<Token> execute(String text) {
 
+        Rules r = rules;
+
         PTBTokenizer<Word> tokenizer = new PTBTokenizer<>(
                 new StringReader(text), new WordTokenFactory(), "");
 
@@ -141,59 +143,29 @@ public List<Token> execute(String text) {
             tokens = joinedAbbrevTokens;
         }*/
 
-        for (int i = 0; i < tokens.size(); i++) {
-            Token token = tokens.get(i);
+        List<Token> preprocessedTokens = new ArrayList<>(tokens.size());
+        List<String> parts = new ArrayList<>();
 
-            Matcher abbrevMatcher = abbreviationTarget.matcher(token.getWord().toLowerCase());
+        for (Token token: tokens) {
+            String word = token.getWord();
 
             // check for overlooked cases
-            if (StringUtils.hasPunctuation(token.getWord())) {
-                if (
-                        !token.getWord().matches(".*\\d\\.\\d.*") &&
-                                !token.getWord().matches(".*\\d,\\d.*") &&
-                                !token.getWord().matches(".*\\d:\\d.*") &&
-                                !token.getWord().matches(".*\\d/\\d.*") &&
-                                !abbrevMatcher.matches()) {
-                    token.setWord(StringUtils.separatePunctuation(token.getWord()));
-                }
+            if (StringUtils.hasPunctuation(word)
+                    && !NUMBER_SEPARATOR.matcher(word).matches()
+                    && !r.abbreviationTarget.matcher(word.toLowerCase()).matches()) {
+                word = StringUtils.separatePunctuation(word);
             }
 
+            parts.clear();
             if (expandTokens) {
-                for (int j = 0; j < contractions.length; j++) {
-                    if (contractionTargets[j].matcher(
-                            token.getWord().toLowerCase()).matches()) {
-                        if (isCapitalized(token.getWord(), true)) {
-                            token.setWord(capitalize(contractions[j].getReplacement(), true));
-                        }
-                        else if (isCapitalized(token.getWord())) {
-                            token.setWord(capitalize(contractions[j].getReplacement()));
-                        }
-                        else {
-                            token.setWord(contractions[j].getReplacement());
-                        }
-                    }
-                }
-
-                for (int j = 0; j < clitics.length; j++) {
-                    String[] parts = token.getWord().split("\\s");
-                    for (int k = 0; k < parts.length; k++) {
-                        String part = parts[k];
-                        if (cliticTargets[j].matcher(part.toLowerCase()).matches()) {
-                            parts[k] = part.substring(
-                                    0,
-                                    part.length() - clitics[j].getTarget().length()
-                            ) + clitics[j].getReplacement();
-                        }
-                    }
-                    token.setWord(String.join(" ", parts));
+                word = expandContractions(r, word);
+                for (String part: WHITESPACE.split(word)) {
+                    expandClitics(r, part, 0, parts);
                 }
+            } else {
+                Collections.addAll(parts, WHITESPACE.split(word));
             }
-        }
-
-        List<Token> preprocessedTokens = new ArrayList<>();
 
-        for (Token token: tokens) {
-            String[] parts = token.getWord().split("\\s");
             int start = token.getStart();
             String original = token.getOriginal();
             for (String part: parts) {
@@ -208,6 +180,55 @@ else if (isCapitalized(token.getWord())) {
         return preprocessedTokens;
     }
 
+    /**
+     * Replace a word by the expansion of the contractions it matches, in
+     * the order of the contractions. Each contraction is matched against
+     * the result of the previous ones.
+     *
+     * @param r    {@link Rules} replacements of the tokenizer
+     * @param word {@link String} the word
+     * @return {@link String} the expanded word
+     */
+    private String expandContractions(Rules r, String word) {
+        int j = r.contractionTargets.find(word.toLowerCase(), 0);
+        while (j >= 0) {
+            if (isCapitalized(word, true)) {
+                word = capitalize(r.contractions[j].getReplacement(), true);
+            } else if (isCapitalized(word)) {
+                word = capitalize(r.contractions[j].getReplacement());
+            } else {
+                word = r.contractions[j].getReplacement();
+            }
+            j = r.contractionTargets.find(word.toLowerCase(), j + 1);
+        }
+        return word;
+    }
+
+    /**
+     * Expand the clitics of a part of a word, in the order of the clitics.
+     * The parts of each expansion are only matched against the clitics
+     * that follow the one expanded.
+     *
+     * @param r     {@link Rules} replacements of the tokenizer
+     * @param part  {@link String} part of a word, without whitespace
+     * @param from  {@code int} index of the first clitic to match
+     * @param parts {@link List} list to add the expanded parts to
+     */
+    private void expandClitics(Rules r, String part, int from, List<String> parts) {
+        int j = r.cliticTargets.find(part.toLowerCase(), from);
+        if (j < 0) {
+            parts.add(part);
+            return;
+        }
+        String expanded = part.substring(
+                0,
+                part.length() - r.clitics[j].getTarget().length()
+        ) + r.clitics[j].getReplacement();
+        for (String expandedPart: WHITESPACE.split(expanded)) {
+            expandClitics(r, expandedPart, j + 1, parts);
+        }
+    }
+
     public String groupTokens(String[] tokens) {
         StringBuilder sentence = new StringBuilder();
         for (String token : tokens) {
@@ -280,4 +301,77 @@ private Token join(Token first, Token second, boolean space) {
                 first.getStart(),
                 first.getOriginal() + (space ? " " : "") + second.getOriginal());
     }
+
+    /**
+     * Replacements of a tokenizer and their compiled targets, loaded
+     * together so that they can be replaced at once.
+     */
+    private static final class Rules {
+        private final Replacement[] abbreviations;
+        private final Replacement[] contractions;
+        private final Replacement[] clitics;
+
+        private final LinkedHashSet<String> abbreviationTargets;
+        private final Pattern abbreviationTarget;
+        private final ReplacementTargets contractionTargets;
+        private final ReplacementTargets cliticTargets;
+
+        Rules(
+                Replacement[] abbreviations,
+                Replacement[] contractions,
+                Replacement[] clitics,
+                Function<String, Pattern> abbreviationPatterns,
+                Function<String, Pattern> contractionPatterns,
+                Function<String, Pattern> cliticPatterns) {
+            this.abbreviations = abbreviations;
+            this.contractions = contractions;
+            this.clitics = clitics;
+
+            abbreviationTargets = Arrays.stream(abbreviations)
+                    .map(Replacement::getTarget)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            abbreviationTarget = abbreviationPatterns.apply(abbreviationTargets.parallelStream()
+                    .collect(Collectors.joining("|")));
+            // contractions match the whole word, clitics its end
+            contractionTargets = new ReplacementTargets(
+                    map(contractions, replacement -> ""),
+                    map(contractions, Replacement::getTarget),
+                    contractionPatterns);
+            cliticTargets = new ReplacementTargets(
+                    map(clitics, Replacement::getPrefix),
+                    map(clitics, Replacement::getTarget),
+                    cliticPatterns);
+        }
+
+        private static String[] map(
+                Replacement[] replacements, Function<Replacement, String> field) {
+            return Arrays.stream(replacements).map(field).toArray(String[]::new);
+        }
+
+        static Rules load(Locale locale) throws TokenizationException {
+            CompiledReplacements abbreviations;
+            CompiledReplacements contractions;
+            CompiledReplacements clitics;
+            try {
+                abbreviations = ResourceLoader.readCompiledReplacements(
+                        String.format(ABBREV_FILE_PATH_FORMAT, locale.toString())
+                );
+                contractions = ResourceLoader.readCompiledReplacements(
+                        String.format(CONTRACTIONS_FILE_PATH_FORMAT, locale.toString())
+                );
+                clitics = ResourceLoader.readCompiledReplacements(
+                        String.format(CLITICS_FILE_PATH_FORMAT, locale.toString())
+                );
+            } catch (ResourceLoadingException e) {
+                throw new TokenizationException("Could not load tokenizer's replacements", e);
+            }
+            return new Rules(
+                    abbreviations.getSortedReplacements(),
+                    contractions.getSortedReplacements(),
+                    clitics.getSortedReplacements(),
+                    abbreviations::pattern,
+                    contractions::pattern,
+                    clitics::pattern);
+        }
+    }
 }
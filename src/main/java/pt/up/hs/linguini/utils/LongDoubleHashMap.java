@@ -0,0 +1,204 @@
+package pt.up.hs.linguini.utils;
+
+/**
+ * Map of primitive {@code long} keys to {@code double} values, with open
+ * addressing (linear probing) in parallel arrays. Neither keys nor values
+ * are boxed.
+ *
+ * Not thread-safe.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class LongDoubleHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // 0 marks a free slot, so key 0 is kept aside
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    public LongDoubleHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * @param key          {@code long} the key
+     * @param defaultValue {@code double} value if the key is absent
+     * @return {@code double} value of the key or the default value
+     */
+    public double getOrDefault(long key, double defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public void put(long key, double value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value);
+    }
+
+    /**
+     * Add an amount to the value of a key, which starts at 0 if absent.
+     *
+     * @param key   {@code long} the key
+     * @param delta {@code double} amount to add
+     * @return {@code double} new value of the key
+     */
+    public double addTo(long key, double delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+                zeroValue = 0.0;
+            }
+            return zeroValue += delta;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, delta);
+        return delta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Call an action for each entry, in no particular order.
+     *
+     * @param action {@link EntryConsumer} action to call
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void insertAt(int i, long key, double value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private int slot(long key) {
+        // Murmur3 finalizer, spreads packed pairs of small ints
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = slot(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(
+                Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR) + 1) - 1) << 1;
+        return Math.max(DEFAULT_CAPACITY, capacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Action on an entry of the map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+}
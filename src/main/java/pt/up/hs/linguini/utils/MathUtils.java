@@ -7,33 +7,167 @@
  */
 public class MathUtils {
 
+    private static final int LOG_FACTORIALS_SIZE = 1024;
+    private static final int SMALL_CHOOSE = 64;
+
+    private static final double[] LANCZOS_COEFFICIENTS = {
+            0.99999999999980993,
+            676.5203681218851,
+            -1259.1392167224028,
+            771.32342877765313,
+            -176.61502916214059,
+            12.507343278686905,
+            -0.13857109526572012,
+            9.9843695780195716e-6,
+            1.5056327351493116e-7
+    };
+    private static final double HALF_LOG_TWO_PI = 0.5 * Math.log(2 * Math.PI);
+
+    private static final double[] LOG_FACTORIALS = new double[LOG_FACTORIALS_SIZE];
+    static {
+        for (int i = 2; i < LOG_FACTORIALS_SIZE; i++) {
+            LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+        }
+    }
+
     /**
-     * Hypergeometric probability
+     * Contribution of a type to HD-D, i.e., {@code (1 - P(X = successes)) /
+     * sampleSize}, where {@code X} is the hypergeometric number of
+     * successes in the sample. Computed in log-space, so that it does not
+     * overflow for large populations. For {@code successes == 0}, the
+     * complement is computed with {@link Math#expm1(double)}, so that it
+     * does not cancel out when {@code P(X = 0)} is close to 1.
      *
-     * @param successes           total successes
+     * @param successes           successes in the sample
      * @param sampleSize          sample size
      * @param populationSize      total items
-     * @param populationSuccesses                successes in sample
-     * @return hypergeometric probability
+     * @param populationSuccesses successes in the population
+     * @return {@code (1 - P(X = successes)) / sampleSize}, or 0 if the
+     *      sample size is not positive or exceeds the population size
      */
     public static double hypergeometric(
             int successes, int sampleSize, int populationSize, int populationSuccesses
     ) {
-        try {
-            double prob = 1.0 - (
-                    (
-                            choose(populationSuccesses, successes) *
-                                    choose(
-                                            (populationSize - populationSuccesses),
-                                            (sampleSize - successes)
-                                    )
-                    ) / choose(populationSize, sampleSize)
-            );
-            prob = prob * (1.0D / (double) sampleSize);
-            return prob;
-        } catch (ArithmeticException e) {
+        if (sampleSize <= 0 || sampleSize > populationSize) {
+            return 0;
+        }
+        double complement;
+        if (successes == 0) {
+            // 1 - P(X = 0), without cancellation when P(X = 0) is near 1
+            complement = -Math.expm1(
+                    logHypergeometricZero(sampleSize, populationSize, populationSuccesses));
+        } else {
+            complement = 1.0 - hypergeometricProbability(
+                    successes, sampleSize, populationSize, populationSuccesses);
+        }
+        return complement * (1.0D / (double) sampleSize);
+    }
+
+    /**
+     * Probability of exactly {@code successes} successes in a sample drawn
+     * without replacement, i.e., P(X = k) of the hypergeometric
+     * distribution.
+     *
+     * @param successes           successes in sample (k)
+     * @param sampleSize          sample size (n)
+     * @param populationSize      total items (N)
+     * @param populationSuccesses total successes (K)
+     * @return hypergeometric probability P(X = k)
+     */
+    public static double hypergeometricProbability(
+            int successes, int sampleSize, int populationSize, int populationSuccesses
+    ) {
+        if (successes < 0 || successes > populationSuccesses
+                || sampleSize - successes < 0
+                || sampleSize - successes > populationSize - populationSuccesses
+                || sampleSize > populationSize) {
             return 0;
         }
+        if (successes == 0) {
+            return Math.exp(
+                    logHypergeometricZero(sampleSize, populationSize, populationSuccesses));
+        }
+        return Math.exp(
+                logChoose(populationSuccesses, successes) +
+                        logChoose(populationSize - populationSuccesses, sampleSize - successes) -
+                        logChoose(populationSize, sampleSize)
+        );
+    }
+
+    /**
+     * Natural logarithm of P(X = 0) of the hypergeometric distribution, as
+     * the sum of log(1 - K / (N - i)) for i from 0 to n - 1.
+     */
+    private static double logHypergeometricZero(
+            int sampleSize, int populationSize, int populationSuccesses) {
+        if (sampleSize > populationSize - populationSuccesses) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double logP = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            logP += Math.log1p(-(double) populationSuccesses / (populationSize - i));
+        }
+        return logP;
+    }
+
+    /**
+     * Natural logarithm of 'from n choose k'.
+     *
+     * @param n Size of population
+     * @param k Size of sample
+     * @return log of the nr of combinations (negative infinity if there is
+     * none)
+     */
+    public static double logChoose(int n, int k) {
+        if (k < 0 || k > n) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        int m = Math.min(k, n - k);
+        if (m <= SMALL_CHOOSE) {
+            double log = 0;
+            for (int i = 1; i <= m; i++) {
+                log += Math.log((double) (n - m + i) / i);
+            }
+            return log;
+        }
+        return logFactorial(n) - logFactorial(k) - logFactorial(n - k);
+    }
+
+    /**
+     * Natural logarithm of n!. Small values are memoized.
+     *
+     * @param n the number to calculate the factorial of
+     * @return log(n!)
+     */
+    public static double logFactorial(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial of negative number");
+        }
+        if (n < LOG_FACTORIALS_SIZE) {
+            return LOG_FACTORIALS[n];
+        }
+        return logGamma(n + 1.0);
+    }
+
+    /**
+     * Natural logarithm of the gamma function, using the Lanczos
+     * approximation (g = 7, n = 9).
+     *
+     * @param x positive number
+     * @return log(gamma(x))
+     */
+    public static double logGamma(double x) {
+        if (x < 0.5) {
+            // reflection formula
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double a = LANCZOS_COEFFICIENTS[0];
+        double t = x + 7.5;
+        for (int i = 1; i < LANCZOS_COEFFICIENTS.length; i++) {
+            a += LANCZOS_COEFFICIENTS[i] / (x + i);
+        }
+        return HALF_LOG_TWO_PI + (x + 0.5) * Math.log(t) - t + Math.log(a);
     }
 
     /**
@@ -0,0 +1,83 @@
+package pt.up.hs.linguini.utils;
+
+/**
+ * Utilities to deal with regular expressions.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class RegexUtils {
+    private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    // constructs of a prefix that may depend on the text that follows it
+    // (alternations, groups with flags or lookarounds, boundaries and
+    // possessive quantifiers)
+    private static final String[] CONTEXTUAL_CONSTRUCTS = {
+            "|", "(?", "$", "\\b", "\\B", "\\z", "\\Z", "*+", "++", "?+", "}+"
+    };
+
+    // constructs of a suffix that may depend on the text that precedes it
+    // (alternations, groups with flags or lookarounds and boundaries)
+    private static final String[] CONTEXTUAL_SUFFIX_CONSTRUCTS = {
+            "|", "(?", "^", "\\b", "\\B", "\\A", "\\G"
+    };
+    private static final String QUANTIFIERS = "*+?{";
+
+    /**
+     * Check if a regular expression only matches itself, i.e., it has no
+     * metacharacter.
+     *
+     * @param regex {@link String} the regular expression
+     * @return {@code boolean} regular expression is plain text?
+     */
+    public static boolean isLiteral(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            if (META_CHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a regular expression followed by plain text can be matched
+     * by matching the expression alone against what precedes the text,
+     * i.e., the expression has no contextual construct nor an escape
+     * sequence that the text could complete.
+     *
+     * @param prefix {@link String} the regular expression
+     * @return {@code boolean} prefix can be matched separately?
+     */
+    public static boolean isSeparablePrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return true;
+        }
+        for (String construct : CONTEXTUAL_CONSTRUCTS) {
+            if (prefix.contains(construct)) {
+                return false;
+            }
+        }
+        return !prefix.endsWith("\\")
+                && !Character.isDigit(prefix.charAt(prefix.length() - 1));
+    }
+
+    /**
+     * Check if plain text followed by a regular expression can be matched
+     * by matching the expression alone against what follows the text, i.e.,
+     * the expression has no contextual construct nor starts with a
+     * quantifier that would apply to the text.
+     *
+     * @param suffix {@link String} the regular expression
+     * @return {@code boolean} suffix can be matched separately?
+     */
+    public static boolean isSeparableSuffix(String suffix) {
+        if (suffix.isEmpty()) {
+            return true;
+        }
+        for (String construct : CONTEXTUAL_SUFFIX_CONSTRUCTS) {
+            if (suffix.contains(construct)) {
+                return false;
+            }
+        }
+        return QUANTIFIERS.indexOf(suffix.charAt(0)) < 0;
+    }
+}
@@ -1,5 +1,7 @@
 package pt.up.hs.linguini.utils;
 
+import java.util.regex.Pattern;
+
 /**
  * Utilities to deal with strings.
  *
@@ -7,7 +9,14 @@
  */
 public class StringUtils {
     private static final String PUNCTUATION = "[,.:;?!_\\[\\]()\"`/*+%={}#$<>'«»\\\\|”“]";
-    private static final String ONLY_PUNCTUATION = "^" + PUNCTUATION + "+$";
+    private static final Pattern ONLY_PUNCTUATION =
+            Pattern.compile("^" + PUNCTUATION + "+$");
+    private static final Pattern HAS_PUNCTUATION =
+            Pattern.compile(".*" + PUNCTUATION + ".*");
+    private static final Pattern ANY_PUNCTUATION =
+            Pattern.compile("(" + PUNCTUATION + ")");
+    private static final Pattern STARTS_WITH_LETTER =
+            Pattern.compile("^[A-Za-z\\u00C0-\\u00D6\\u00D8-\\u00f6\\u00f8-\\u00ff].*");
 
     public static boolean isEmpty(String string) {
         return string == null || string.isEmpty();
@@ -18,19 +27,19 @@ public static boolean isBlankString(String string) {
     }
 
     public static boolean isPunctuation(String string) {
-        return string != null && string.matches(ONLY_PUNCTUATION);
+        return string != null && ONLY_PUNCTUATION.matcher(string).matches();
     }
 
     public static boolean hasPunctuation(String string) {
-        return string != null && string.matches(".*" + PUNCTUATION + ".*");
+        return string != null && HAS_PUNCTUATION.matcher(string).matches();
     }
 
     public static String separatePunctuation(String string) {
-        return string.replaceAll("(" + PUNCTUATION + ")", " $1 ");
+        return ANY_PUNCTUATION.matcher(string).replaceAll(" $1 ");
     }
 
     public static boolean startsWithLetter(String string) {
-        return string != null && string.matches("^[A-Za-z\\u00C0-\\u00D6\\u00D8-\\u00f6\\u00f8-\\u00ff].*");
+        return string != null && STARTS_WITH_LETTER.matcher(string).matches();
     }
 
 
@@ -0,0 +1,83 @@
+package pt.up.hs.linguini.test.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
+import pt.up.hs.linguini.analysis.lexicaldiversity.HddAnalysis;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.test.unit.TestTexts;
+import pt.up.hs.linguini.utils.MathUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of HD-D on texts of growing length, against a per-type loop of
+ * binomials computed with products of doubles.
+ *
+ * Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=pt.up.hs.linguini.test.benchmark.HddBenchmark
+ * -Dexec.classpathScope=test}.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HddBenchmark {
+    private static final int SAMPLE_SIZE = 42;
+
+    @Param({ "500", "5000", "50000" })
+    private int textLength;
+
+    private List<Token> tokens;
+
+    @Setup
+    public void setup() {
+        tokens = TestTexts.generateText(42, textLength, textLength);
+    }
+
+    @Benchmark
+    public double groupedByFrequency() throws AnalysisException {
+        return new HddAnalysis<Token>(SAMPLE_SIZE).execute(tokens);
+    }
+
+    @Benchmark
+    public double perTypeWithProducts() {
+        Map<String, Integer> typeCounts = new HashMap<>();
+        for (Token token : tokens) {
+            typeCounts.merge(token.word(), 1, Integer::sum);
+        }
+        double hdd = 0.0;
+        for (int count : typeCounts.values()) {
+            double p = MathUtils.choose(textLength - count, SAMPLE_SIZE) /
+                    MathUtils.choose(textLength, SAMPLE_SIZE);
+            hdd += (1.0 - p) / SAMPLE_SIZE;
+        }
+        return hdd;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HddBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
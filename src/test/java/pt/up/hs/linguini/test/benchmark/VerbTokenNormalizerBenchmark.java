@@ -0,0 +1,134 @@
+package pt.up.hs.linguini.test.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pt.up.hs.linguini.exceptions.LinguiniException;
+import pt.up.hs.linguini.models.AnnotatedToken;
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.normalization.VerbTokenNormalizer;
+import pt.up.hs.linguini.resources.ResourceLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark of the verb token normalizer on a verb-heavy corpus, against a
+ * linear scan of the regular expressions of the irregular conjugations and
+ * lexemes.
+ *
+ * Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=pt.up.hs.linguini.test.benchmark.VerbTokenNormalizerBenchmark
+ * -Dexec.classpathScope=test}.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerbTokenNormalizerBenchmark {
+    private static final Locale LOCALE = new Locale("pt", "PT");
+
+    private static final String[] PREFIXES = { "", "", "", "re", "des" };
+    private static final String[] ENDINGS = { "", "mos", "s", "ram" };
+    private static final int CORPUS_SIZE = 1000;
+
+    private VerbTokenNormalizer normalizer;
+    private List<String> corpus;
+
+    private Pattern[][] targets;
+    private Pattern[][] tags;
+
+    @Setup
+    public void setup() throws LinguiniException {
+        normalizer = new VerbTokenNormalizer(LOCALE);
+
+        Replacement[][] replacements = {
+                ResourceLoader.readReplacements(String.format(
+                        "/%s/replacements/verbirregularconj.json", LOCALE)),
+                ResourceLoader.readReplacements(String.format(
+                        "/%s/replacements/verblexemes.json", LOCALE))
+        };
+
+        // passes of the linear scan: conjugations and lexemes, each one
+        // without and with prefixes
+        targets = new Pattern[4][];
+        tags = new Pattern[4][];
+        for (int k = 0; k < 4; k++) {
+            Replacement[] pass = replacements[k / 2];
+            Arrays.sort(pass);
+            targets[k] = new Pattern[pass.length];
+            tags[k] = new Pattern[pass.length];
+            for (int i = 0; i < pass.length; i++) {
+                targets[k][i] = Pattern.compile((k % 2 == 1 ? pass[i].getPrefix() : "")
+                        + pass[i].getTarget() + pass[i].getSuffix());
+                tags[k][i] = Pattern.compile(pass[i].getTag());
+            }
+        }
+
+        Random random = new Random(42);
+        corpus = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            Replacement[] source = replacements[random.nextInt(2)];
+            String target = source[random.nextInt(source.length)].getTarget()
+                    .replaceAll("\\[(.).*?]", "$1")
+                    .replaceAll("[()|?]", "");
+            corpus.add(PREFIXES[random.nextInt(PREFIXES.length)] + target +
+                    ENDINGS[random.nextInt(ENDINGS.length)]);
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        for (String word : corpus) {
+            blackhole.consume(normalizer.execute(
+                    new AnnotatedToken<>(new Token(0, word), "VERB")));
+        }
+    }
+
+    @Benchmark
+    public void regularExpressions(Blackhole blackhole) {
+        for (String word : corpus) {
+            blackhole.consume(findWithRegularExpressions(word, "verb"));
+        }
+    }
+
+    private int findWithRegularExpressions(String word, String tag) {
+        for (int k = 0; k < targets.length; k++) {
+            for (int i = 0; i < targets[k].length; i++) {
+                if (targets[k][i].matcher(word).matches()
+                        && tags[k][i].matcher(tag).matches()) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerbTokenNormalizerBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -26,8 +26,8 @@ public class LinguiniTest {
 
     @Test
     public final void testLinguini() {
-        Linguini linguini =  new Linguini(LOCALE);
         try {
+            Linguini linguini =  new Linguini(LOCALE);
             LinguisticsReport report = linguini.analyze(TEXT_1);
             Assertions.assertEquals(2132, report.getCharacterCount());
             Assertions.assertEquals(1727, report.getNonBlankCharacterCount());
@@ -71,10 +71,10 @@ public final void testLinguini() {
     @Test
     public final void testLinguiniNotBroken() {
 
-        Linguini linguini =  new Linguini(LOCALE);
-
         LinguisticsReport report;
         try {
+            Linguini linguini =  new Linguini(LOCALE);
+
             report = linguini.analyze(TEXT_1);
             Assertions.assertEquals("0.321",
                     String.format(Locale.US, "%.3f", report.getIdeaDensity()));
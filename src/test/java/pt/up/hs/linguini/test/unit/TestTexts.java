@@ -0,0 +1,60 @@
+package pt.up.hs.linguini.test.unit;
+
+import pt.up.hs.linguini.models.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators of reproducible synthetic texts for tests.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestTexts {
+
+    /**
+     * Generate a text with a roughly Zipfian vocabulary.
+     *
+     * @param seed       {@code long} seed of the generator
+     * @param size       {@code int} number of tokens
+     * @param vocabulary {@code int} number of distinct words that may occur
+     * @return {@link List} tokens of the text
+     */
+    public static List<Token> generateText(long seed, int size, int vocabulary) {
+        Random random = new Random(seed);
+        List<Token> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tokens.add(new Token(i, word(random, vocabulary)));
+        }
+        return tokens;
+    }
+
+    /**
+     * Generate sentences of 3 to 27 tokens with a roughly Zipfian
+     * vocabulary.
+     *
+     * @param seed       {@code long} seed of the generator
+     * @param count      {@code int} number of sentences
+     * @param vocabulary {@code int} number of distinct words that may occur
+     * @return {@link List} tokens of each sentence
+     */
+    public static List<List<Token>> generateSentences(
+            long seed, int count, int vocabulary) {
+        Random random = new Random(seed);
+        List<List<Token>> sentences = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            int length = 3 + random.nextInt(25);
+            List<Token> sentence = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                sentence.add(new Token(i, word(random, vocabulary)));
+            }
+            sentences.add(sentence);
+        }
+        return sentences;
+    }
+
+    private static String word(Random random, int vocabulary) {
+        return "w" + (int) Math.floor(Math.pow(vocabulary, random.nextDouble()));
+    }
+}
@@ -0,0 +1,179 @@
+package pt.up.hs.linguini.test.unit.analysis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.analysis.cooccurrence.AssociationMeasure;
+import pt.up.hs.linguini.analysis.cooccurrence.CoOccurrence;
+import pt.up.hs.linguini.analysis.cooccurrence.CoOccurrenceAnalysis;
+import pt.up.hs.linguini.analysis.cooccurrence.CoOccurrenceMatrix;
+import pt.up.hs.linguini.exceptions.LinguiniException;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.test.unit.TestTexts;
+import pt.up.hs.linguini.utils.UnorderedPair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for the primitive co-occurrence matrix.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestCoOccurrenceMatrix {
+    private static final int WINDOW_SIZE = 5;
+
+    private static List<List<Token>> generateSentences(int count) {
+        return TestTexts.generateSentences(5, count, 100);
+    }
+
+    private static Map<UnorderedPair<String>, Double> reference(
+            List<List<Token>> sentences) {
+        Map<UnorderedPair<String>, Double> values = new HashMap<>();
+        for (List<Token> tokens : sentences) {
+            for (int center = 0; center < tokens.size(); center++) {
+                int start = Math.max(0, center - WINDOW_SIZE);
+                for (int left = start; left < center; left++) {
+                    values.merge(new UnorderedPair<>(
+                            tokens.get(left).word(), tokens.get(center).word()),
+                            1.0 / (center - left), Double::sum);
+                }
+            }
+        }
+        return values;
+    }
+
+    @Test
+    public final void testSameAsBoxedMap() throws LinguiniException {
+        List<List<Token>> sentences = generateSentences(300);
+        double threshold = 1.5;
+
+        Map<UnorderedPair<String>, Double> expected = reference(sentences);
+        expected.values().removeIf(v -> v < threshold);
+
+        List<CoOccurrence> coOccurrences =
+                new CoOccurrenceAnalysis<Token>(threshold, WINDOW_SIZE)
+                        .execute(sentences);
+
+        Assertions.assertEquals(expected.size(), coOccurrences.size());
+        for (CoOccurrence coOccurrence : coOccurrences) {
+            Double value = expected.get(new UnorderedPair<>(
+                    coOccurrence.getFirstWord(), coOccurrence.getSecondWord()));
+            Assertions.assertNotNull(value);
+            Assertions.assertEquals(value, coOccurrence.getValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public final void testCorpusSameAsSingleText() {
+        List<List<Token>> sentences = generateSentences(1000);
+        List<List<List<Token>>> documents = new ArrayList<>();
+        for (int i = 0; i < sentences.size(); i += 37) {
+            documents.add(sentences.subList(i, Math.min(sentences.size(), i + 37)));
+        }
+
+        Map<UnorderedPair<String>, Double> expected = reference(sentences);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CoOccurrenceMatrix matrix =
+                    new CoOccurrenceAnalysis<Token>(1.5, WINDOW_SIZE, pool)
+                            .computeCorpusMatrix(documents);
+
+            Assertions.assertEquals(expected.size(), matrix.size());
+            expected.forEach((pair, value) -> Assertions.assertEquals(value,
+                    matrix.get(pair.getSecond(), pair.getFirst()), 1e-9));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public final void testTopK() {
+        List<List<Token>> sentences = generateSentences(300);
+        CoOccurrenceMatrix matrix = new CoOccurrenceAnalysis<Token>(1.5, WINDOW_SIZE)
+                .computeMatrix(sentences);
+
+        List<Double> expected = new ArrayList<>();
+        for (CoOccurrence coOccurrence : matrix.toCoOccurrences(1.5)) {
+            expected.add(coOccurrence.getValue());
+        }
+        expected.sort(Collections.reverseOrder());
+
+        List<CoOccurrence> top = matrix.topK(AssociationMeasure.FREQUENCY, 1.5, 10);
+        Assertions.assertEquals(10, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            Assertions.assertEquals(expected.get(i), top.get(i).getValue());
+        }
+
+        for (AssociationMeasure measure : AssociationMeasure.values()) {
+            // brute-force ranking of the scored pairs of each word
+            Map<String, List<Double>> expectedPerWord = new HashMap<>();
+            for (CoOccurrence coOccurrence :
+                    matrix.topK(measure, 1.5, Integer.MAX_VALUE)) {
+                for (String word : words(coOccurrence)) {
+                    expectedPerWord.computeIfAbsent(word, w -> new ArrayList<>())
+                            .add(coOccurrence.getValue());
+                }
+            }
+
+            Map<String, List<Double>> actualPerWord = new HashMap<>();
+            for (CoOccurrence coOccurrence : matrix.topKPerWord(measure, 1.5, 2)) {
+                Assertions.assertFalse(Double.isNaN(coOccurrence.getValue()));
+                for (String word : words(coOccurrence)) {
+                    actualPerWord.computeIfAbsent(word, w -> new ArrayList<>())
+                            .add(coOccurrence.getValue());
+                }
+            }
+
+            // pairs selected by the other word may also be returned, so
+            // only the best K of the pairs of each word must match
+            Assertions.assertEquals(expectedPerWord.keySet(), actualPerWord.keySet());
+            expectedPerWord.forEach((word, scores) -> Assertions.assertEquals(
+                    best(scores, 2), best(actualPerWord.get(word), 2),
+                    measure + " " + word));
+        }
+    }
+
+    private static List<String> words(CoOccurrence coOccurrence) {
+        return coOccurrence.getFirstWord().equals(coOccurrence.getSecondWord())
+                ? Collections.singletonList(coOccurrence.getFirstWord())
+                : Arrays.asList(coOccurrence.getFirstWord(), coOccurrence.getSecondWord());
+    }
+
+    private static List<Double> best(List<Double> scores, int k) {
+        List<Double> sorted = new ArrayList<>(scores);
+        sorted.sort(Collections.reverseOrder());
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    @Test
+    public final void testAssociationMeasures() {
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+        int olivio = matrix.intern("olívio");
+        int barreto = matrix.intern("barreto");
+        int de = matrix.intern("de");
+        int a = matrix.intern("a");
+        int que = matrix.intern("que");
+        matrix.add(olivio, barreto, 3.0);
+        matrix.add(de, a, 10.0);
+        matrix.add(de, que, 10.0);
+        matrix.add(a, que, 10.0);
+
+        for (AssociationMeasure measure : new AssociationMeasure[] {
+                AssociationMeasure.PMI,
+                AssociationMeasure.LOG_LIKELIHOOD,
+                AssociationMeasure.DICE }) {
+            CoOccurrence best = matrix.topK(measure, 0.0, 1).get(0);
+            Assertions.assertEquals(
+                    new UnorderedPair<>("olívio", "barreto"),
+                    new UnorderedPair<>(best.getFirstWord(), best.getSecondWord()));
+        }
+        Assertions.assertEquals(1.0,
+                matrix.topK(AssociationMeasure.DICE, 0.0, 1).get(0).getValue(), 1e-12);
+    }
+}
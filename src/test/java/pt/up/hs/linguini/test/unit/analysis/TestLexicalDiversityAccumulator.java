@@ -0,0 +1,67 @@
+package pt.up.hs.linguini.test.unit.analysis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
+import pt.up.hs.linguini.analysis.lexicaldiversity.BaseTtrAnalysis;
+import pt.up.hs.linguini.analysis.lexicaldiversity.LexicalDiversityAccumulator;
+import pt.up.hs.linguini.analysis.lexicaldiversity.MtldAnalysis;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.test.unit.TestTexts;
+
+import java.util.List;
+
+/**
+ * Unit tests for incremental lexical diversity.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestLexicalDiversityAccumulator {
+
+    private static List<Token> generateText(int size) {
+        return TestTexts.generateText(3, size, 500);
+    }
+
+    @Test
+    public final void testSameAsBatchWhileBuffered() throws AnalysisException {
+        List<Token> tokens = generateText(2000);
+        LexicalDiversityAccumulator<Token> accumulator =
+                new LexicalDiversityAccumulator<>();
+
+        for (int end = 100; end <= tokens.size(); end += 100) {
+            List<Token> chunk = tokens.subList(end - 100, end);
+            accumulator.addAll(chunk);
+
+            List<Token> prefix = tokens.subList(0, end);
+            Assertions.assertEquals(
+                    new BaseTtrAnalysis<Token>().execute(prefix),
+                    accumulator.getTtr(), 1e-12);
+            Assertions.assertEquals(
+                    new MtldAnalysis<Token>().execute(prefix),
+                    accumulator.getMtld(), 1e-9);
+        }
+    }
+
+    @Test
+    public final void testBoundedReverseBuffer() throws AnalysisException {
+        List<Token> tokens = generateText(20000);
+        LexicalDiversityAccumulator<Token> accumulator =
+                new LexicalDiversityAccumulator<>(0.72, 2000);
+
+        accumulator.addAll(tokens);
+
+        double expected = new MtldAnalysis<Token>().execute(tokens);
+        Assertions.assertEquals(20000, accumulator.getTokenCount());
+        Assertions.assertEquals(expected, accumulator.getMtld(), expected * 0.1);
+    }
+
+    @Test
+    public final void testShortText() {
+        LexicalDiversityAccumulator<Token> accumulator =
+                new LexicalDiversityAccumulator<>();
+
+        accumulator.addAll(generateText(20));
+
+        Assertions.assertThrows(AnalysisException.class, accumulator::getMtld);
+    }
+}
@@ -0,0 +1,65 @@
+package pt.up.hs.linguini.test.unit.analysis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
+import pt.up.hs.linguini.analysis.lexicaldiversity.BaseTtrAnalysis;
+import pt.up.hs.linguini.analysis.lexicaldiversity.HddAnalysis;
+import pt.up.hs.linguini.analysis.lexicaldiversity.LDAlgorithm;
+import pt.up.hs.linguini.analysis.lexicaldiversity.LexicalDiversityEngine;
+import pt.up.hs.linguini.analysis.lexicaldiversity.MtldAnalysis;
+import pt.up.hs.linguini.analysis.lexicaldiversity.VocdAnalysis;
+import pt.up.hs.linguini.models.LexicalDiversity;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.test.unit.TestTexts;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Unit tests for lexical diversity engine.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestLexicalDiversityEngine {
+
+    private static List<Token> generateText(int size) {
+        return TestTexts.generateText(11, size, 200);
+    }
+
+    @Test
+    public final void testSameAsSeparateAnalyses() throws AnalysisException {
+        List<Token> tokens = generateText(400);
+
+        LexicalDiversity result = new LexicalDiversityEngine<Token>(
+                EnumSet.allOf(LDAlgorithm.class),
+                new MtldAnalysis<>(),
+                new HddAnalysis<>(),
+                new VocdAnalysis<>(42L)
+        ).execute(tokens);
+
+        Assertions.assertEquals(
+                new BaseTtrAnalysis<Token>().execute(tokens),
+                result.getBaseTtr(), 1e-12);
+        Assertions.assertEquals(
+                new MtldAnalysis<Token>().execute(tokens),
+                result.getMtld(), 1e-12);
+        Assertions.assertEquals(
+                new HddAnalysis<Token>().execute(tokens),
+                result.getHdd(), 1e-12);
+        Assertions.assertEquals(
+                new VocdAnalysis<Token>(42L).execute(tokens),
+                result.getVocd(), 1e-12);
+    }
+
+    @Test
+    public final void testShortText() {
+        LexicalDiversity result = new LexicalDiversityEngine<Token>()
+                .execute(generateText(20));
+
+        Assertions.assertNotNull(result.getBaseTtr());
+        Assertions.assertNull(result.getMtld());
+        Assertions.assertNull(result.getHdd());
+        Assertions.assertNull(result.getVocd());
+    }
+}
@@ -0,0 +1,43 @@
+package pt.up.hs.linguini.test.unit.analysis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.analysis.exceptions.AnalysisException;
+import pt.up.hs.linguini.analysis.lexicaldiversity.VocdAnalysis;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.test.unit.TestTexts;
+
+import java.util.List;
+
+/**
+ * Unit tests for voc-D analysis.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestVocdAnalysis {
+
+    private static List<Token> generateText(int size) {
+        return TestTexts.generateText(7, size, 300);
+    }
+
+    @Test
+    public final void testSeededIsReproducible() throws AnalysisException {
+        List<Token> tokens = generateText(500);
+
+        double first = new VocdAnalysis<Token>(42L).execute(tokens);
+        double second = new VocdAnalysis<Token>(42L).execute(tokens);
+
+        Assertions.assertEquals(first, second);
+    }
+
+    @Test
+    public final void testStableAcrossSeeds() throws AnalysisException {
+        List<Token> tokens = generateText(500);
+
+        double first = new VocdAnalysis<Token>(1L).execute(tokens);
+        double second = new VocdAnalysis<Token>(2L).execute(tokens);
+
+        Assertions.assertTrue(first > 0);
+        Assertions.assertEquals(first, second, first * 0.05);
+    }
+}
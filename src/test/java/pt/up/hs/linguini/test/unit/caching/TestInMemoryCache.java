@@ -0,0 +1,73 @@
+package pt.up.hs.linguini.test.unit.caching;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.caching.CacheStats;
+import pt.up.hs.linguini.caching.EvictionPolicy;
+import pt.up.hs.linguini.caching.InMemoryCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for in-memory cache.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestInMemoryCache {
+
+    @Test
+    public final void testBoundedSize() {
+        InMemoryCache<Integer, Integer> cache = new InMemoryCache<>(0, 0, 1000);
+
+        IntStream.range(0, 10000).parallel().forEach(i -> cache.put(i, i));
+
+        Assertions.assertEquals(1000, cache.size());
+        Assertions.assertEquals(9000, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public final void testLeastRecentlyUsedEvicted() {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(0, 0, 2);
+
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        Assertions.assertEquals("A", cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public final void testFirstInFirstOutEvicted() {
+        InMemoryCache<String, String> cache =
+                new InMemoryCache<>(0, 0, 2, EvictionPolicy.FIFO);
+
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals(2, cache.asMap().size());
+        Assertions.assertEquals("B", cache.asMap().get("b"));
+    }
+
+    @Test
+    public final void testStats() {
+        InMemoryCache<String, Integer> cache = new InMemoryCache<>(0, 0, 100);
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.get("one", k -> computed.incrementAndGet());
+        cache.get("one", k -> computed.incrementAndGet());
+        cache.get("two");
+
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(1, computed.get());
+        Assertions.assertEquals(1, stats.getHitCount());
+        Assertions.assertEquals(2, stats.getMissCount());
+        Assertions.assertEquals(1, stats.getLoadCount());
+    }
+}
@@ -0,0 +1,93 @@
+package pt.up.hs.linguini.test.unit.dictionaries;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.data.DELAFEntry;
+import pt.up.hs.linguini.dictionaries.CompactDELAFDataSource;
+import pt.up.hs.linguini.dictionaries.CompactDictionary;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for data sources over shared dictionary layers.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestCompactDELAFDataSource {
+
+    private static final DELAFEntry CASA_N =
+            new DELAFEntry("casa", "casa", "N", null, "fs");
+    private static final DELAFEntry CASA_V =
+            new DELAFEntry("casa", "casar", "V", null, "P3s");
+    private static final DELAFEntry CASAS_N =
+            new DELAFEntry("casas", "casa", "N", null, "fp");
+    private static final DELAFEntry LINGUINI_N =
+            new DELAFEntry("linguini", "linguini", "N", null, "ms");
+
+    private static CompactDictionary dictionary(DELAFEntry... entries) {
+        CompactDictionary.Builder builder = new CompactDictionary.Builder();
+        for (DELAFEntry entry : entries) {
+            builder.add(entry.getWord(), entry.getLemma(), entry.getPos(),
+                    entry.getSubcategory(), entry.getMorphAttributes());
+        }
+        return builder.build();
+    }
+
+    private static CompactDELAFDataSource dataSource(CompactDictionary... layers) {
+        return new CompactDELAFDataSource(layers) {
+        };
+    }
+
+    private static Set<DELAFEntry> set(DELAFEntry... entries) {
+        return new HashSet<>(Arrays.asList(entries));
+    }
+
+    @Test
+    public final void testLayers() {
+        CompactDictionary main = dictionary(CASA_N, CASAS_N);
+        CompactDictionary custom = dictionary(CASA_N, CASA_V, LINGUINI_N);
+        CompactDELAFDataSource dataSource = dataSource(main, custom);
+
+        Assertions.assertEquals(3, dataSource.size());
+        Assertions.assertEquals(set(CASA_N, CASA_V),
+                new HashSet<>(dataSource.getEntries("casa")));
+        Assertions.assertTrue(dataSource.contains("casa", "V"));
+        Assertions.assertTrue(dataSource.contains("linguini"));
+        Assertions.assertEquals(set(CASA_N, CASA_V, CASAS_N, LINGUINI_N),
+                new HashSet<>(dataSource.getAllEntries()));
+        Assertions.assertEquals(4, dataSource.getAllEntries().size());
+    }
+
+    @Test
+    public final void testChangesAreNotShared() {
+        CompactDictionary main = dictionary(CASA_N, CASAS_N);
+        CompactDictionary custom = dictionary(CASA_V, LINGUINI_N);
+        CompactDELAFDataSource changed = dataSource(main, custom);
+        CompactDELAFDataSource other = dataSource(main, custom);
+
+        Assertions.assertEquals(set(CASA_V), new HashSet<>(changed.remove("casa", "V")));
+        Assertions.assertNull(changed.remove("casa", "V"));
+        Assertions.assertEquals(set(LINGUINI_N), new HashSet<>(changed.remove("linguini")));
+        Assertions.assertNull(changed.remove("linguini"));
+        changed.add("massa", "massa", "N", null, "fs");
+
+        Assertions.assertEquals(set(CASA_N), new HashSet<>(changed.getEntries("casa")));
+        Assertions.assertFalse(changed.contains("linguini"));
+        Assertions.assertTrue(changed.contains("massa", "N"));
+        Assertions.assertEquals(3, changed.size());
+        Assertions.assertEquals(3, changed.getAllEntries().size());
+
+        Assertions.assertEquals(set(CASA_N, CASA_V), new HashSet<>(other.getEntries("casa")));
+        Assertions.assertTrue(other.contains("linguini"));
+        Assertions.assertFalse(other.contains("massa"));
+        Assertions.assertEquals(3, other.size());
+        Assertions.assertEquals(set("casar"), other.getLemmas("casa", "V"));
+        Assertions.assertTrue(changed.getLemmas("casa", "V").isEmpty());
+    }
+
+    private static Set<String> set(String... strings) {
+        return new HashSet<>(Arrays.asList(strings));
+    }
+}
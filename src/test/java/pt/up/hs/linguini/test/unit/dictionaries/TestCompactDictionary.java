@@ -0,0 +1,169 @@
+package pt.up.hs.linguini.test.unit.dictionaries;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.data.DELAFEntry;
+import pt.up.hs.linguini.dictionaries.CompactDictionary;
+import pt.up.hs.linguini.dictionaries.DictionaryCompiler;
+import pt.up.hs.linguini.dictionaries.MappedDELAFDataSource;
+import pt.up.hs.linguini.dictionaries.exceptions.DictionaryException;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for compact dictionary.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestCompactDictionary {
+    private static final String DICTIONARY_PATH =
+            "/pt_PT/dictionaries/custom/custom1.dic";
+
+    @Test
+    public final void testSameAsEntryMap() throws ResourceLoadingException {
+        Map<String, HashSet<DELAFEntry>> expected =
+                ResourceLoader.readDictionaryEntries(DICTIONARY_PATH);
+        CompactDictionary dictionary =
+                ResourceLoader.readCompactDictionary(DICTIONARY_PATH);
+
+        Assertions.assertEquals(expected.size(), dictionary.size());
+        Assertions.assertEquals(
+                expected.values().stream().mapToInt(Set::size).sum(),
+                dictionary.entryCount());
+
+        for (Map.Entry<String, HashSet<DELAFEntry>> e : expected.entrySet()) {
+            String word = e.getKey();
+            Assertions.assertTrue(dictionary.contains(word));
+            Assertions.assertEquals(e.getValue(),
+                    new HashSet<>(dictionary.getEntries(word)));
+            for (DELAFEntry entry : e.getValue()) {
+                Assertions.assertTrue(dictionary.contains(entry));
+                Assertions.assertTrue(dictionary.contains(word, entry.getPos()));
+                Assertions.assertEquals(
+                        e.getValue().stream()
+                                .filter(en -> en.getPos().equals(entry.getPos()))
+                                .map(DELAFEntry::getLemma)
+                                .collect(Collectors.toSet()),
+                        dictionary.getLemmas(word, entry.getPos()));
+            }
+        }
+
+        Assertions.assertFalse(dictionary.contains("inexistente"));
+        Assertions.assertFalse(dictionary.contains("inexistente", "N"));
+        Assertions.assertTrue(dictionary.getLemmas("inexistente", "N").isEmpty());
+    }
+
+    @Test
+    public final void testCompiledAndMapped() throws Exception {
+        Path file = Files.createTempFile("dictionary", ".bin");
+        try {
+            DictionaryCompiler.compile(file, DICTIONARY_PATH);
+
+            CompactDictionary expected =
+                    ResourceLoader.readCompactDictionary(DICTIONARY_PATH);
+            MappedDELAFDataSource dataSource = new MappedDELAFDataSource(file);
+
+            Assertions.assertEquals(expected.size(), dataSource.size());
+            Assertions.assertEquals(
+                    new HashSet<>(expected.getAllEntries()),
+                    new HashSet<>(dataSource.getAllEntries()));
+            for (DELAFEntry entry : expected.getAllEntries()) {
+                Assertions.assertTrue(dataSource.contains(entry.getWord(), entry.getPos()));
+                Assertions.assertEquals(
+                        expected.getLemmas(entry.getWord(), entry.getPos()),
+                        dataSource.getLemmas(entry.getWord(), entry.getPos()));
+            }
+
+            // changes stay in the data source
+            String word = expected.getAllEntries().get(0).getWord();
+            dataSource.remove(word);
+            Assertions.assertFalse(dataSource.contains(word));
+            Assertions.assertEquals(expected.size() - 1, dataSource.size());
+            Assertions.assertTrue(new MappedDELAFDataSource(file).contains(word));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public final void testMapRejectsOtherFiles() throws Exception {
+        Path file = Files.createTempFile("dictionary", ".bin");
+        try {
+            Files.write(file, "não é um dicionário".getBytes(StandardCharsets.UTF_8));
+            Assertions.assertThrows(DictionaryException.class,
+                    () -> new MappedDELAFDataSource(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public final void testParallelParse() throws ResourceLoadingException {
+        Random random = new Random(13);
+        StringBuilder text = new StringBuilder("# generated\n");
+        CompactDictionary.Builder expectedBuilder = new CompactDictionary.Builder();
+        for (int i = 0; i < 100000; i++) {
+            String word = "palavra" + random.nextInt(50000);
+            String lemma = "lema" + random.nextInt(5000);
+            String pos = random.nextBoolean() ? "N" : "V";
+            String morph = random.nextBoolean() ? "fs" : null;
+            text.append(word).append(',').append(lemma).append('.').append(pos);
+            if (morph != null) {
+                text.append(':').append(morph);
+            }
+            text.append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i % 1000 == 0) {
+                text.append("\n");
+            }
+            expectedBuilder.add(word, lemma, pos, null, morph);
+        }
+        CompactDictionary expected = expectedBuilder.build();
+
+        CompactDictionary.Builder builder = new CompactDictionary.Builder();
+        ResourceLoader.readDictionaryEntries(new ByteArrayInputStream(
+                text.toString().getBytes(StandardCharsets.UTF_8)), builder);
+        CompactDictionary dictionary = builder.build();
+
+        Assertions.assertEquals(expected.size(), dictionary.size());
+        Assertions.assertEquals(expected.entryCount(), dictionary.entryCount());
+        Assertions.assertEquals(
+                new HashSet<>(expected.getAllEntries()),
+                new HashSet<>(dictionary.getAllEntries()));
+
+        // errors report the line in the whole file
+        text.append("linha inválida\n");
+        ResourceLoadingException e = Assertions.assertThrows(
+                ResourceLoadingException.class,
+                () -> ResourceLoader.readDictionaryEntries(new ByteArrayInputStream(
+                        text.toString().getBytes(StandardCharsets.UTF_8)),
+                        new CompactDictionary.Builder()));
+        Assertions.assertTrue(e.getMessage().endsWith(" " + (1 + 100000 + 100 + 1)),
+                e.getMessage());
+    }
+
+    @Test
+    public final void testDuplicatesDropped() {
+        CompactDictionary dictionary = new CompactDictionary.Builder()
+                .add("casas", "casa", "N", null, "fp")
+                .add("casa", "casa", "N", null, "fs")
+                .add("casas", "casa", "N", null, "fp")
+                .add("casa", "casar", "V", null, "P3s")
+                .build();
+
+        Assertions.assertEquals(2, dictionary.size());
+        Assertions.assertEquals(3, dictionary.entryCount());
+        Assertions.assertEquals(2, dictionary.getEntries("casa").size());
+        Assertions.assertTrue(dictionary.contains("casa", "V"));
+        Assertions.assertFalse(dictionary.contains("casas", "V"));
+    }
+}
@@ -0,0 +1,146 @@
+package pt.up.hs.linguini.test.unit.dictionaries;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.data.DELAFEntry;
+import pt.up.hs.linguini.dictionaries.CompactDictionary;
+import pt.up.hs.linguini.dictionaries.Lexicon;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for lexicon.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestLexicon {
+    private static final String DICTIONARY_PATH =
+            "/pt_PT/dictionaries/custom/custom1.dic";
+
+    @Test
+    public final void testSameAsEntries() throws ResourceLoadingException {
+        Map<String, HashSet<DELAFEntry>> entries =
+                ResourceLoader.readDictionaryEntries(DICTIONARY_PATH);
+        CompactDictionary dictionary =
+                ResourceLoader.readCompactDictionary(DICTIONARY_PATH);
+
+        Map<String, Set<String>> expected = new HashMap<>();
+        for (HashSet<DELAFEntry> entrySet : entries.values()) {
+            for (DELAFEntry entry : entrySet) {
+                expected.computeIfAbsent(entry.getLemma(), l -> new HashSet<>())
+                        .add(entry.getPos());
+            }
+        }
+
+        assertSame(expected, Lexicon.fromDictionaryMap(entries));
+        assertSame(expected, Lexicon.fromCompactDictionary(dictionary));
+
+        // changes are not seen by other lexicons of the same dictionary
+        Lexicon changed = Lexicon.fromCompactDictionary(dictionary);
+        String lemma = expected.keySet().iterator().next();
+        changed.remove(lemma);
+        changed.add("\u0000added", "N");
+        Assertions.assertFalse(changed.contains(lemma));
+        Assertions.assertEquals(expected.size(), changed.size());
+        assertSame(expected, Lexicon.fromCompactDictionary(dictionary));
+    }
+
+    @Test
+    public final void testManyTags() {
+        List<DELAFEntry> entries = new ArrayList<>();
+        Map<String, Set<String>> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            String lemma = "l" + random.nextInt(100);
+            String tag = "T" + random.nextInt(150);
+            entries.add(new DELAFEntry("f" + i, lemma, tag, null, null));
+            expected.computeIfAbsent(lemma, l -> new HashSet<>()).add(tag);
+        }
+
+        assertSame(expected, Lexicon.fromEntries(entries));
+    }
+
+    @Test
+    public final void testChanges() {
+        List<DELAFEntry> entries = new ArrayList<>();
+        Map<String, Set<String>> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            String lemma = "l" + random.nextInt(50);
+            String tag = "T" + random.nextInt(5);
+            entries.add(new DELAFEntry("f" + i, lemma, tag, null, null));
+            expected.computeIfAbsent(lemma, l -> new HashSet<>()).add(tag);
+        }
+
+        Lexicon lexicon = Lexicon.fromEntries(entries);
+        for (int i = 0; i < 300; i++) {
+            String lemma = "l" + random.nextInt(60);
+            String tag = "T" + random.nextInt(6);
+            switch (random.nextInt(3)) {
+                case 0:
+                    lexicon.add(lemma, tag);
+                    expected.computeIfAbsent(lemma, l -> new HashSet<>()).add(tag);
+                    break;
+                case 1:
+                    Set<String> removed = expected.remove(lemma);
+                    String[] actual = lexicon.remove(lemma);
+                    if (removed == null) {
+                        Assertions.assertNull(actual);
+                    } else {
+                        Assertions.assertEquals(removed,
+                                new HashSet<>(Arrays.asList(actual)));
+                    }
+                    break;
+                default:
+                    Set<String> tags = expected.get(lemma);
+                    String result = lexicon.remove(lemma, tag);
+                    if (tags == null) {
+                        Assertions.assertNull(result);
+                    } else {
+                        Assertions.assertEquals(tag, result);
+                        tags.remove(tag);
+                        if (tags.isEmpty()) {
+                            expected.remove(lemma);
+                        }
+                    }
+                    break;
+            }
+        }
+
+        assertSame(expected, lexicon);
+    }
+
+    private static void assertSame(Map<String, Set<String>> expected, Lexicon lexicon) {
+        Assertions.assertEquals(expected.size(), lexicon.size());
+
+        Map<String, Set<String>> lemmasByTag = new HashMap<>();
+        for (Map.Entry<String, Set<String>> e : expected.entrySet()) {
+            Assertions.assertTrue(lexicon.contains(e.getKey()));
+            Assertions.assertEquals(e.getValue(), new HashSet<>(
+                    Arrays.asList(lexicon.retrievePoSTags(e.getKey()))));
+            for (String tag : e.getValue()) {
+                Assertions.assertTrue(lexicon.contains(e.getKey(), tag));
+                lemmasByTag.computeIfAbsent(tag, t -> new HashSet<>())
+                        .add(e.getKey());
+            }
+        }
+        for (Map.Entry<String, Set<String>> e : lemmasByTag.entrySet()) {
+            String[] lemmas = lexicon.retrieveLemmas(e.getKey());
+            Assertions.assertEquals(e.getValue().size(), lemmas.length);
+            Assertions.assertEquals(e.getValue(), new HashSet<>(Arrays.asList(lemmas)));
+        }
+
+        Assertions.assertFalse(lexicon.contains("\u0000missing"));
+        Assertions.assertEquals(0, lexicon.retrievePoSTags("\u0000missing").length);
+        Assertions.assertEquals(0, lexicon.retrieveLemmas("\u0000missing").length);
+    }
+}
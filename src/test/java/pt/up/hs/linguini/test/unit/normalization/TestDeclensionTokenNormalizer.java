@@ -0,0 +1,137 @@
+package pt.up.hs.linguini.test.unit.normalization;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.models.AnnotatedToken;
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.normalization.*;
+import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Unit tests for declension token normalizers.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestDeclensionTokenNormalizer {
+    private static final Locale LOCALE = new Locale("pt", "PT");
+
+    private static final String[] STEMS = { "", "a", "cas", "bel", "pequen" };
+    private static final String[] TAGS = { null, "NOUN", "ADJ", "ADV", "NUM", "VERB" };
+
+    @Test
+    public final void testGender() throws NormalizationException {
+        Assertions.assertEquals("menino", normalize(
+                new GenderTokenNormalizer(LOCALE), "menina", "NOUN"));
+        Assertions.assertEquals("salada", normalize(
+                new GenderTokenNormalizer(LOCALE), "salada", "NOUN"));
+        Assertions.assertEquals("Menina", normalize(
+                new GenderTokenNormalizer(LOCALE), "Menina", "VERB"));
+    }
+
+    @Test
+    public final void testSameAsRegularExpressions()
+            throws NormalizationException, ResourceLoadingException {
+        assertSameAsRegularExpressions("adverbdeclensions",
+                new AdverbTokenNormalizer(LOCALE));
+        assertSameAsRegularExpressions("augmentativedeclensions",
+                new AugmentativeTokenNormalizer(LOCALE));
+        assertSameAsRegularExpressions("diminutivedeclensions",
+                new DiminutiveTokenNormalizer(LOCALE));
+        assertSameAsRegularExpressions("genderdeclensions",
+                new GenderTokenNormalizer(LOCALE));
+        assertSameAsRegularExpressions("numberdeclensions",
+                new NumberTokenNormalizer(LOCALE));
+        assertSameAsRegularExpressions("superlativedeclensions",
+                new SuperlativeTokenNormalizer(LOCALE));
+    }
+
+    @Test
+    public final void testContextualPrefixes() {
+        // none of these prefixes can be matched apart from the target
+        Replacement[] replacements = {
+                new Replacement("a|b", "inho", "", "noun", "", "o"),
+                new Replacement("[a-z]*+", "ito", "", "noun", "", "o"),
+                new Replacement("[a-z]*\\b", "zito", "", "noun", "", "o"),
+                new Replacement("(?=[a-z]*z)[a-z]*", "ote", "", "noun", "", "o")
+        };
+        DeclensionTokenNormalizer normalizer = new DeclensionTokenNormalizer(replacements);
+
+        for (String word : new String[] {
+                "ainho", "binho", "bonito", "cazito", "caz zito",
+                "zote", "pote", "inho" }) {
+            Assertions.assertEquals(
+                    normalizeWithRegularExpressions(replacements, word, "NOUN"),
+                    normalize(normalizer, word, "NOUN"),
+                    word
+            );
+        }
+    }
+
+    private void assertSameAsRegularExpressions(
+            String name, DeclensionTokenNormalizer normalizer)
+            throws ResourceLoadingException {
+
+        Replacement[] replacements = ResourceLoader.readReplacements(
+                String.format("/%s/replacements/%s.json", LOCALE, name));
+        Arrays.sort(replacements);
+
+        for (Replacement replacement : replacements) {
+            for (String stem : STEMS) {
+                String word = stem + replacement.getTarget();
+                for (String tag : TAGS) {
+                    Assertions.assertEquals(
+                            normalizeWithRegularExpressions(replacements, word, tag),
+                            normalize(normalizer, word, tag),
+                            name + ": " + word + "/" + tag
+                    );
+                }
+            }
+            for (String exception : replacement.getExceptions().split("\\|")) {
+                Assertions.assertEquals(
+                        normalizeWithRegularExpressions(replacements, exception, null),
+                        normalize(normalizer, exception, null),
+                        name + ": " + exception
+                );
+            }
+        }
+    }
+
+    private static String normalize(
+            DeclensionTokenNormalizer normalizer, String word, String tag) {
+        return normalizer
+                .execute(new AnnotatedToken<>(new Token(0, word), tag))
+                .getToken()
+                .getWord();
+    }
+
+    private static String normalizeWithRegularExpressions(
+            Replacement[] replacements, String word, String tag) {
+
+        String tags = Arrays.stream(replacements)
+                .map(Replacement::getTag)
+                .distinct()
+                .reduce((a, b) -> a + "|" + b)
+                .orElse("");
+        if (tag != null && !tag.toLowerCase().matches(tags)) {
+            return word;
+        }
+
+        String normalized = word.toLowerCase();
+        for (Replacement r : replacements) {
+            if (normalized.matches(r.getPrefix() + r.getTarget() + r.getSuffix())
+                    && (tag == null || tag.toLowerCase().matches(r.getTag()))
+                    && !normalized.matches(r.getExceptions())) {
+                return normalized.substring(
+                        0, normalized.length() - r.getTarget().length()) +
+                        r.getReplacement();
+            }
+        }
+        return normalized;
+    }
+}
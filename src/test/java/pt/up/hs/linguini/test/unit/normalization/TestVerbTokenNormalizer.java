@@ -0,0 +1,123 @@
+package pt.up.hs.linguini.test.unit.normalization;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.models.AnnotatedToken;
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.normalization.VerbTokenNormalizer;
+import pt.up.hs.linguini.normalization.exceptions.NormalizationException;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Unit tests for verb token normalizer.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestVerbTokenNormalizer {
+    private static final Locale LOCALE = new Locale("pt", "PT");
+
+    private static final String[] PREFIXES = { "", "re", "des", "sobre-" };
+    private static final String[] ENDINGS = { "", "s", "-" };
+    private static final int SAMPLING_STEP = 97;
+
+    private static final Map<String, Pattern> patterns = new HashMap<>();
+
+    private static VerbTokenNormalizer normalizer;
+    private static Replacement[] conjugations;
+    private static Replacement[] lexemes;
+
+    @BeforeAll
+    public static void setup()
+            throws NormalizationException, ResourceLoadingException {
+        normalizer = new VerbTokenNormalizer(LOCALE);
+        conjugations = ResourceLoader.readReplacements(
+                String.format("/%s/replacements/verbirregularconj.json", LOCALE));
+        lexemes = ResourceLoader.readReplacements(
+                String.format("/%s/replacements/verblexemes.json", LOCALE));
+        Arrays.sort(conjugations);
+        Arrays.sort(lexemes);
+    }
+
+    @Test
+    public final void testNormalize() {
+        Assertions.assertEquals("fazer", normalize("fizeram", "VERB"));
+        Assertions.assertEquals("refazer", normalize("refizeram", "VERB"));
+        Assertions.assertEquals("abafar", normalize("abafamos", "VERB"));
+    }
+
+    @Test
+    public final void testSameAsRegularExpressions() {
+        List<String> words = new ArrayList<>();
+        for (Replacement[] replacements : Arrays.asList(conjugations, lexemes)) {
+            for (int i = 0; i < replacements.length; i += SAMPLING_STEP) {
+                String target = replacements[i].getTarget()
+                        .replaceAll("\\[(.).*?]", "$1")
+                        .replaceAll("[()|?]", "");
+                for (String prefix : PREFIXES) {
+                    for (String ending : ENDINGS) {
+                        words.add(prefix + target + ending);
+                    }
+                }
+            }
+        }
+
+        for (String word : words) {
+            for (String tag : new String[] { null, "VERB", "NOUN" }) {
+                Assertions.assertEquals(
+                        normalizeWithRegularExpressions(word, tag),
+                        normalize(word, tag),
+                        word + "/" + tag
+                );
+            }
+        }
+    }
+
+    private static String normalize(String word, String tag) {
+        return normalizer
+                .execute(new AnnotatedToken<>(new Token(0, word), tag))
+                .getToken()
+                .getWord();
+    }
+
+    private static String normalizeWithRegularExpressions(String word, String tag) {
+        if (tag != null && !tag.toLowerCase().matches(normalizer.getReplacementsTagsString())) {
+            return word;
+        }
+
+        String lowerCaseWord = word.toLowerCase();
+        for (Replacement[] replacements : Arrays.asList(conjugations, lexemes)) {
+            for (boolean withPrefix : new boolean[] { false, true }) {
+                for (Replacement r : replacements) {
+                    String regex = (withPrefix ? r.getPrefix() : "") +
+                            r.getTarget() + r.getSuffix();
+                    if (matches(lowerCaseWord, regex)
+                            && (tag == null || matches(tag.toLowerCase(), r.getTag()))) {
+                        if (lowerCaseWord.split(r.getTarget()).length > 0) {
+                            return word.split(r.getTarget())[0] + r.getReplacement();
+                        }
+                        return r.getReplacement();
+                    }
+                }
+            }
+        }
+        return lowerCaseWord;
+    }
+
+    private static boolean matches(String s, String regex) {
+        return patterns
+                .computeIfAbsent(regex, Pattern::compile)
+                .matcher(s)
+                .matches();
+    }
+}
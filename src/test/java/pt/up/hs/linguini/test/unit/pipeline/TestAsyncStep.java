@@ -0,0 +1,80 @@
+package pt.up.hs.linguini.test.unit.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.exceptions.LinguiniException;
+import pt.up.hs.linguini.pipeline.AsyncStep;
+import pt.up.hs.linguini.pipeline.Step;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for asynchronous steps.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestAsyncStep {
+
+    @Test
+    public final void testPipe() throws LinguiniException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AsyncStep<Integer, String> step = Step.<Integer, Integer>of(v -> v + 1)
+                    .async(executor)
+                    .pipe(Step.<Integer, String>of(String::valueOf).async(executor));
+
+            Assertions.assertEquals("42", AsyncStep.await(step.execute(41)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public final void testIndependentStagesOverlap() throws LinguiniException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        try {
+            // each stage only completes once the other one has started
+            Step<Integer, Integer> stage = v -> {
+                latch.countDown();
+                try {
+                    if (!latch.await(10, TimeUnit.SECONDS)) {
+                        throw new LinguiniException("Stages did not overlap.");
+                    }
+                } catch (InterruptedException e) {
+                    throw new LinguiniException(e);
+                }
+                return v;
+            };
+
+            AsyncStep<Integer, Integer> step = stage.async(executor)
+                    .and(stage.async(executor), Integer::sum);
+
+            Assertions.assertEquals(4, AsyncStep.await(step.execute(2)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public final void testAwaitUnwrapsException() {
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncStep<Integer, Integer> step = Step.<Integer, Integer>of(v -> {
+                throw new LinguiniException("Failed");
+            }).async(executor);
+
+            LinguiniException e = Assertions.assertThrows(LinguiniException.class,
+                    () -> AsyncStep.await(step.execute(1)));
+            Assertions.assertEquals("Failed", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
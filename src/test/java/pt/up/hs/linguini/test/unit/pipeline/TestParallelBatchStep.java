@@ -0,0 +1,85 @@
+package pt.up.hs.linguini.test.unit.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.exceptions.LinguiniException;
+import pt.up.hs.linguini.pipeline.ParallelBatchStep;
+import pt.up.hs.linguini.pipeline.Step;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for parallel batch step.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestParallelBatchStep {
+
+    @Test
+    public final void testPreservesOrder() throws LinguiniException {
+
+        List<Integer> values = IntStream.range(0, 1000)
+                .boxed()
+                .collect(Collectors.toList());
+
+        List<Integer> doubled = new ParallelBatchStep<Integer, Integer>(v -> v * 2)
+                .execute(values);
+
+        Assertions.assertEquals(
+                values.stream().map(v -> v * 2).collect(Collectors.toList()),
+                doubled
+        );
+    }
+
+    @Test
+    public final void testFactoryInstancesNotShared() throws LinguiniException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelBatchStep<Integer, Integer> step = new ParallelBatchStep<>(
+                    () -> new Step<Integer, Integer>() {
+                        private final AtomicBoolean busy = new AtomicBoolean();
+
+                        @Override
+                        public Integer execute(Integer value) throws LinguiniException {
+                            if (!busy.compareAndSet(false, true)) {
+                                throw new LinguiniException("Instance used concurrently.");
+                            }
+                            Thread.yield();
+                            busy.set(false);
+                            return value + 1;
+                        }
+                    },
+                    executor
+            );
+
+            List<Integer> values = IntStream.range(0, 1000)
+                    .boxed()
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(
+                    values.stream().map(v -> v + 1).collect(Collectors.toList()),
+                    step.execute(values)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public final void testPropagatesException() {
+
+        Assertions.assertThrows(LinguiniException.class, () ->
+                new ParallelBatchStep<Integer, Integer>(v -> {
+                    if (v == 5) {
+                        throw new LinguiniException("Failed on " + v);
+                    }
+                    return v;
+                }).execute(IntStream.range(0, 10).boxed().collect(Collectors.toList()))
+        );
+    }
+}
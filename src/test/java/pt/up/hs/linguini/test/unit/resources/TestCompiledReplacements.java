@@ -0,0 +1,117 @@
+package pt.up.hs.linguini.test.unit.resources;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.resources.CompiledReplacements;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for the shared cache of compiled replacements.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestCompiledReplacements {
+    private static final String[] FILES = {
+            "abbreviations", "adverbdeclensions", "augmentativedeclensions",
+            "clitics", "contractions", "diminutivedeclensions",
+            "genderdeclensions", "gendernames", "numberdeclensions",
+            "superlativedeclensions", "verbdeclensions", "verbirregularconj",
+            "verblexemes"
+    };
+
+    private static String path(String file) {
+        return "/pt_PT/replacements/" + file + ".json";
+    }
+
+    @Test
+    public void testLoadedOnce() throws ResourceLoadingException {
+        for (String file: FILES) {
+            CompiledReplacements compiled =
+                    ResourceLoader.readCompiledReplacements(path(file));
+            Assertions.assertSame(compiled,
+                    ResourceLoader.readCompiledReplacements(path(file)));
+            Assertions.assertTrue(compiled.size() > 0, file);
+        }
+    }
+
+    @Test
+    public void testConcurrentLoads() throws Exception {
+        // discards every cached resource
+        ResourceLoader.setOverrideDirectory(null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompiledReplacements>> loads = new ArrayList<>();
+            for (int i = 0; i < 4 * FILES.length; i++) {
+                String file = FILES[i % FILES.length];
+                loads.add(executor.submit(() -> {
+                    start.await();
+                    return ResourceLoader.readCompiledReplacements(path(file));
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < loads.size(); i++) {
+                Assertions.assertSame(
+                        ResourceLoader.readCompiledReplacements(
+                                path(FILES[i % FILES.length])),
+                        loads.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSortedReplacements() throws ResourceLoadingException {
+        for (String file: FILES) {
+            Replacement[] expected = ResourceLoader.readReplacements(path(file));
+            Arrays.sort(expected);
+            Assertions.assertArrayEquals(expected, ResourceLoader
+                    .readCompiledReplacements(path(file))
+                    .getSortedReplacements(), file);
+        }
+    }
+
+    @Test
+    public void testReadReplacementsIsACopy() throws ResourceLoadingException {
+        Replacement[] first = ResourceLoader.readReplacements(path("clitics"));
+        String target = first[0].getTarget();
+        first[0].setTarget("changed");
+        Arrays.sort(first);
+
+        Replacement[] second = ResourceLoader.readReplacements(path("clitics"));
+        Assertions.assertEquals(target, second[0].getTarget());
+        Assertions.assertArrayEquals(second, ResourceLoader
+                .readCompiledReplacements(path("clitics"))
+                .getReplacements());
+    }
+
+    @Test
+    public void testPatternsAreShared() throws ResourceLoadingException {
+        CompiledReplacements compiled =
+                ResourceLoader.readCompiledReplacements(path("verbdeclensions"));
+        Replacement replacement = compiled.getReplacements()[0];
+        String regex = replacement.getPrefix() + replacement.getTarget()
+                + replacement.getSuffix();
+        Assertions.assertSame(compiled.pattern(regex), compiled.pattern(regex));
+        Assertions.assertEquals(regex, compiled.pattern(regex).pattern());
+    }
+
+    @Test
+    public void testMissingReplacements() {
+        Assertions.assertThrows(ResourceLoadingException.class, () ->
+                ResourceLoader.readCompiledReplacements(path("missing")));
+    }
+}
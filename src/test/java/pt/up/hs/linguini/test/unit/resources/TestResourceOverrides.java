@@ -0,0 +1,160 @@
+package pt.up.hs.linguini.test.unit.resources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.resources.ResourceListener;
+import pt.up.hs.linguini.resources.ResourceLoader;
+import pt.up.hs.linguini.resources.exceptions.ResourceLoadingException;
+import pt.up.hs.linguini.tokenization.Tokenizer;
+import pt.up.hs.linguini.tokenization.exceptions.TokenizationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for resources overridden by files in a watched directory.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class TestResourceOverrides {
+    private static final Locale LOCALE = new Locale("pt", "PT");
+    private static final String CONTRACTIONS = "/pt_PT/replacements/contractions.json";
+    private static final String CLITICS = "/pt_PT/replacements/clitics.json";
+    private static final long TIMEOUT = 20000;
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("linguini-resources");
+        Files.createDirectories(directory.resolve("pt_PT/replacements"));
+    }
+
+    @AfterEach
+    public void tearDown() throws ResourceLoadingException, IOException {
+        ResourceLoader.setOverrideDirectory(null);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void writeContractions(String target, String replacement) throws IOException {
+        Path file = directory.resolve("pt_PT/replacements/contractions.json");
+        Path tmp = Files.createTempFile(directory, "contractions", ".tmp");
+        Files.write(tmp, ("{ \"replacement\": [ { \"target\": \"" + target
+                + "\", \"replacement\": \"" + replacement + "\" } ] }")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String tokenize(Tokenizer tokenizer, String text) {
+        return tokenizer.execute(text).stream()
+                .map(Token::getWord)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testOverrideAndReload() throws Exception {
+        writeContractions("zuca", "zu ca");
+        ResourceLoader.setOverrideDirectory(directory);
+        Assertions.assertEquals(1,
+                ResourceLoader.readCompiledReplacements(CONTRACTIONS).size());
+        Assertions.assertEquals("zuca", ResourceLoader
+                .readReplacements(CONTRACTIONS)[0].getTarget());
+
+        LinkedBlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+        ResourceListener listener = changes::add;
+        ResourceLoader.addResourceListener(listener);
+        try {
+            writeContractions("zeca", "ze ca");
+            Set<String> changed = changes.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+            Assertions.assertNotNull(changed);
+            Assertions.assertTrue(changed.contains(CONTRACTIONS));
+            Assertions.assertTrue(changed.stream().noneMatch(path -> path.endsWith(".tmp")));
+            Assertions.assertEquals("zeca", ResourceLoader
+                    .readReplacements(CONTRACTIONS)[0].getTarget());
+        } finally {
+            ResourceLoader.removeResourceListener(listener);
+        }
+
+        // without the override, the resource comes from the classpath again
+        ResourceLoader.setOverrideDirectory(null);
+        Assertions.assertTrue(
+                ResourceLoader.readCompiledReplacements(CONTRACTIONS).size() > 1);
+    }
+
+    @Test
+    public void testNewDirectory() throws Exception {
+        ResourceLoader.setOverrideDirectory(directory);
+        Assertions.assertTrue(
+                ResourceLoader.readCompiledReplacements(CLITICS).size() > 1);
+
+        LinkedBlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+        ResourceListener listener = changes::add;
+        ResourceLoader.addResourceListener(listener);
+        try {
+            // a whole tree moved in at once is only reported as a directory
+            Path tree = Files.createTempDirectory("linguini-tree");
+            Path file = tree.resolve("replacements/clitics.json");
+            Files.createDirectories(file.getParent());
+            Files.write(file, "{ \"replacement\": [ { \"target\": \"-zu\", \"replacement\": \" zu\" } ] }"
+                    .getBytes(StandardCharsets.UTF_8));
+            Files.delete(directory.resolve("pt_PT/replacements"));
+            Files.delete(directory.resolve("pt_PT"));
+            Files.move(tree, directory.resolve("pt_PT"), StandardCopyOption.ATOMIC_MOVE);
+
+            Set<String> changed = new HashSet<>();
+            await(() -> {
+                Set<String> paths;
+                while ((paths = changes.poll()) != null) {
+                    changed.addAll(paths);
+                }
+                return changed.contains(CLITICS);
+            });
+            Assertions.assertEquals(1,
+                    ResourceLoader.readCompiledReplacements(CLITICS).size());
+        } finally {
+            ResourceLoader.removeResourceListener(listener);
+        }
+    }
+
+    @Test
+    public void testTokenizerReload()
+            throws IOException, ResourceLoadingException, TokenizationException,
+            InterruptedException {
+        writeContractions("zuca", "zu ca");
+        ResourceLoader.setOverrideDirectory(directory);
+
+        Tokenizer tokenizer = new Tokenizer(LOCALE, true);
+        Assertions.assertEquals("zu ca", tokenize(tokenizer, "zuca"));
+
+        writeContractions("zuca", "zum ca");
+        await(() -> tokenize(tokenizer, "zuca").equals("zum ca"));
+    }
+}
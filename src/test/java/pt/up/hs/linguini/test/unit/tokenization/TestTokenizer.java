@@ -0,0 +1,63 @@
+package pt.up.hs.linguini.test.unit.tokenization;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.models.Replacement;
+import pt.up.hs.linguini.models.Token;
+import pt.up.hs.linguini.tokenization.Tokenizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestTokenizer {
+
+    private static final String CLITIC_PREFIX = "[\\w\\-]*";
+
+    private static Tokenizer tokenizer(boolean expandTokens) {
+        return new Tokenizer(
+                expandTokens,
+                new Replacement[] {
+                        new Replacement("", "sr.", "", "", "", "")
+                },
+                new Replacement[] {
+                        new Replacement("", "ao", "", "", "", "a o"),
+                        new Replacement("", "do", "", "", "", "de o")
+                },
+                new Replacement[] {
+                        new Replacement(CLITIC_PREFIX, "-lo", "", "", "", " ele"),
+                        new Replacement(CLITIC_PREFIX, "-lhe-ei", "", "", "", "ei a ele")
+                }
+        );
+    }
+
+    private static List<String> words(List<Token> tokens) {
+        return tokens.stream().map(Token::getWord).collect(Collectors.toList());
+    }
+
+    @Test
+    public final void testExpansion() {
+        List<Token> tokens = tokenizer(true)
+                .execute("Dar-lhe-ei ao Joao, do-lo AO Silva por 3.5 euros");
+
+        // contractions are not matched against the parts of clitics
+        Assertions.assertEquals(
+                Arrays.asList("Darei", "a", "ele", "a", "o", "Joao", ",", "do",
+                        "ele", "A", "O", "Silva", "por", "3.5", "euros"),
+                words(tokens));
+
+        Assertions.assertEquals(0, tokens.get(0).getStart());
+        Assertions.assertEquals("Dar-lhe-ei", tokens.get(2).getOriginal());
+    }
+
+    @Test
+    public final void testNoExpansion() {
+        List<Token> tokens = tokenizer(false)
+                .execute("Dar-lhe-ei ao Joao, do-lo AO Silva por 3.5 euros");
+
+        Assertions.assertEquals(
+                Arrays.asList("Dar-lhe-ei", "ao", "Joao", ",", "do-lo", "AO",
+                        "Silva", "por", "3.5", "euros"),
+                words(tokens));
+    }
+}
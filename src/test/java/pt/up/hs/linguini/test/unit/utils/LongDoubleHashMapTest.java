@@ -0,0 +1,35 @@
+package pt.up.hs.linguini.test.unit.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pt.up.hs.linguini.utils.LongDoubleHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests on the primitive long to double hash map.
+ *
+ * @author José Carlos Paiva <code>josepaiva94@gmail.com</code>
+ */
+public class LongDoubleHashMapTest {
+
+    @Test
+    public final void testSameAsBoxedMap() {
+        Random random = new Random(9);
+        LongDoubleHashMap map = new LongDoubleHashMap();
+        Map<Long, Double> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000) - 10;
+            double delta = random.nextDouble();
+            map.addTo(key, delta);
+            expected.merge(key, delta, Double::sum);
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) ->
+                Assertions.assertEquals(value, map.getOrDefault(key, -1), 1e-9));
+        Assertions.assertEquals(-1, map.getOrDefault(123456789L, -1));
+    }
+}
@@ -4,6 +4,9 @@
 import org.junit.jupiter.api.Test;
 import pt.up.hs.linguini.utils.MathUtils;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
  * Tests on math utilities.
  *
@@ -30,4 +33,76 @@ public final void testHypergeometric() {
         Assertions.assertTrue(Double.compare(0.0093 + EPSILON, h) > 0);
         Assertions.assertTrue(Double.compare(0.0093 - EPSILON, h) < 0);
     }
+
+    @Test
+    public final void testLogChoose() {
+        Assertions.assertEquals(Math.log(35), MathUtils.logChoose(7, 4), 1e-12);
+        Assertions.assertEquals(Math.log(4.4223468690222905E42),
+                MathUtils.logChoose(192, 42), 1e-12);
+        Assertions.assertEquals(365.76237693770736,
+                MathUtils.logChoose(100000, 42), 1e-10);
+        Assertions.assertEquals(689.4672615678512,
+                MathUtils.logChoose(1000, 500), 1e-10);
+        Assertions.assertEquals(Double.NEGATIVE_INFINITY, MathUtils.logChoose(3, 4));
+    }
+
+    @Test
+    public final void testLogFactorial() {
+        Assertions.assertEquals(Math.log(MathUtils.factorial(20)),
+                MathUtils.logFactorial(20), 1e-12);
+        // logGamma beyond the memoized values
+        Assertions.assertEquals(
+                MathUtils.logFactorial(1023) + Math.log(1024),
+                MathUtils.logFactorial(1024), 1e-9);
+    }
+
+    @Test
+    public final void testHypergeometricReferenceValues() {
+        // reference values computed with exact rational arithmetic
+        assertRelativelyEquals(0.3289894419306184,
+                MathUtils.hypergeometric(2, 3, 52, 4));
+        assertRelativelyEquals(0.009298647469458987,
+                MathUtils.hypergeometric(0, 42, 192, 2));
+        assertRelativelyEquals(0.09805811380024274,
+                MathUtils.hypergeometric(1, 10, 30, 12));
+        assertRelativelyEquals(0.0005,
+                MathUtils.hypergeometric(0, 42, 2000, 1));
+        assertRelativelyEquals(0.023809523809523808,
+                MathUtils.hypergeometric(0, 42, 5000, 4999));
+    }
+
+    @Test
+    public final void testHypergeometricLargePopulations() {
+        assertRelativelyEquals(2.998770151704797e-05,
+                MathUtils.hypergeometric(0, 42, 100000, 3));
+        assertRelativelyEquals(0.00024872808331330193,
+                MathUtils.hypergeometric(0, 42, 1000000, 250));
+        assertRelativelyEquals(3.259628825972449e-09,
+                MathUtils.hypergeometric(0, 42, Integer.MAX_VALUE, 7));
+
+        // (1 - P(X = 0)) / n, with P(X = 0) = prod(1 - K / (N - i)) in decimal
+        Assertions.assertEquals(2.998770151704797e-05,
+                exactHypergeometricZero(42, 100000, 3), 1e-20);
+        Assertions.assertEquals(0.00024872808331330193,
+                exactHypergeometricZero(42, 1000000, 250), 1e-20);
+        Assertions.assertEquals(3.259628825972449e-09,
+                exactHypergeometricZero(42, Integer.MAX_VALUE, 7), 1e-24);
+    }
+
+    private static double exactHypergeometricZero(
+            int sampleSize, int populationSize, int populationSuccesses) {
+        BigDecimal p = BigDecimal.ONE;
+        BigDecimal successes = BigDecimal.valueOf(populationSuccesses);
+        for (int i = 0; i < sampleSize; i++) {
+            p = p.multiply(BigDecimal.ONE.subtract(successes.divide(
+                    BigDecimal.valueOf((long) populationSize - i), MathContext.DECIMAL128)));
+        }
+        return BigDecimal.ONE.subtract(p)
+                .divide(BigDecimal.valueOf(sampleSize), MathContext.DECIMAL128)
+                .doubleValue();
+    }
+
+    private static void assertRelativelyEquals(double expected, double actual) {
+        Assertions.assertEquals(expected, actual, Math.abs(expected) * 1e-9);
+    }
 }